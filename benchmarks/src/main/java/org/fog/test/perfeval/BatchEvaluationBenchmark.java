@@ -0,0 +1,72 @@
+package org.fog.test.perfeval;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scoring a whole population: one kernel call per individual against one interleaved
+ * evaluateBatch call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class BatchEvaluationBenchmark {
+
+    @Param({"1000", "100000"})
+    public int tasks;
+
+    @Param({"60", "1000"})
+    public int vms;
+
+    @Param({"40"})
+    public int populationSize;
+
+    private FitnessKernel kernel;
+    private Population population;
+    private double[] fitness;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        FitnessContext fitnessContext = new FitnessContext(BenchmarkWorkloads.problem(tasks, vms));
+        kernel = new FitnessKernel(fitnessContext);
+        population = new Population(populationSize, tasks, vms);
+        SplittableRandom random = new SplittableRandom(BenchmarkWorkloads.SEED);
+        for (int i = 0; i < populationSize; i++) {
+            for (int task = 0; task < tasks; task++) {
+                population.set(i, task, random.nextInt(vms));
+            }
+        }
+        fitness = new double[populationSize];
+    }
+
+    @Benchmark
+    public double[] evaluateEach() {
+        GeneArray genes = population.genes();
+        for (int i = 0; i < populationSize; i++) {
+            fitness[i] = kernel.evaluate(genes, population.offset(i));
+        }
+        return fitness;
+    }
+
+    @Benchmark
+    public double[] evaluateBatch() {
+        kernel.evaluateBatch(population, fitness);
+        return fitness;
+    }
+}
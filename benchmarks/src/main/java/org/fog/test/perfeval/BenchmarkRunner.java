@@ -0,0 +1,29 @@
+package org.fog.test.perfeval;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs every benchmark with the GC profiler, so each result comes with its allocation rate
+ * (gc.alloc.rate.norm is bytes allocated per operation). Writes the results to jmh-result.json
+ * for comparison against a stored baseline.
+ *
+ * Build with "mvn -pl benchmarks -am package", then run either this class or
+ * "java -jar benchmarks/target/benchmarks.jar -prof gc" for the standard JMH command line.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : "org.fog.test.perfeval.*Benchmark")
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("jmh-result.json")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,54 @@
+package org.fog.test.perfeval;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.CloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.UtilizationModelFull;
+import org.cloudbus.cloudsim.Vm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic cloudlets and VMs shaped like the ones TaskSchedulingSimulation creates, in any size.
+ */
+final class BenchmarkWorkloads {
+    static final long SEED = 42L;
+
+    private BenchmarkWorkloads() {
+    }
+
+    // Lengths drawn from the range of CLOUDLET_LENGTH1
+    static List<Cloudlet> cloudlets(int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<Cloudlet> cloudletList = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long length = 100 + random.nextInt(1401);
+            cloudletList.add(new Cloudlet(i, length, 1, 300, 300, new UtilizationModelFull(), new UtilizationModelFull(), new UtilizationModelFull()));
+        }
+        return cloudletList;
+    }
+
+    // Half the VMs at 2000 MIPS and half at 4000, like createVM
+    static List<Vm> vms(int count) {
+        List<Vm> vmList = new ArrayList<>(count);
+        for (int vmId = 0; vmId < count; vmId++) {
+            int mips = vmId < count / 2 ? 2000 : 4000;
+            vmList.add(new Vm(vmId, 0, mips, 1, 512, 1000, 10000, "Xen", new CloudletSchedulerTimeShared()));
+        }
+        return vmList;
+    }
+
+    static SchedulingProblem problem(int numTasks, int numVMs) {
+        return SchedulingProblem.fromCloudSim(cloudlets(numTasks), vms(numVMs));
+    }
+
+    static int[] randomSolution(int numTasks, int numVMs) {
+        SplittableRandom random = new SplittableRandom(SEED + 1);
+        int[] solution = new int[numTasks];
+        for (int i = 0; i < numTasks; i++) {
+            solution[i] = random.nextInt(numVMs);
+        }
+        return solution;
+    }
+}
@@ -0,0 +1,81 @@
+package org.fog.test.perfeval;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.Vm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the fitness kernels for one solution. The Common methods taking a double[][] matrix are
+ * the original per-call implementations; evaluateFitness is what the brokers run today.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx6g"}) // 100k tasks x 1k VMs needs two 800 MB matrices
+public class FitnessBenchmark {
+
+    @Param({"12", "1000", "100000"})
+    public int tasks;
+
+    @Param({"12", "60", "1000"})
+    public int vms;
+
+    private List<Cloudlet> cloudletList;
+    private List<Vm> vmList;
+    private double[][] taskExecutionTimes;
+    private FitnessContext fitnessContext;
+    private int[] solution;
+    private double makespan;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        cloudletList = BenchmarkWorkloads.cloudlets(tasks);
+        vmList = BenchmarkWorkloads.vms(vms);
+        taskExecutionTimes = Common.calculateTaskExecutionTimes(cloudletList, vmList);
+        fitnessContext = new FitnessContext(cloudletList, vmList);
+        solution = BenchmarkWorkloads.randomSolution(tasks, vms);
+        makespan = Common.calculateMakespan(solution, taskExecutionTimes, cloudletList, vmList);
+    }
+
+    @Benchmark
+    public double calculateMakespan() {
+        return Common.calculateMakespan(solution, taskExecutionTimes, cloudletList, vmList);
+    }
+
+    @Benchmark
+    public double calculateTotalEnergyConsumption() {
+        return Common.calculateTotalEnergyConsumption(solution, taskExecutionTimes, makespan, vmList);
+    }
+
+    @Benchmark
+    public double calculateFlowTime() {
+        return Common.calculateFlowTime(solution, taskExecutionTimes);
+    }
+
+    @Benchmark
+    public double evaluateFitness() {
+        return Common.evaluateFitness(solution, fitnessContext);
+    }
+
+    // The list-based overload builds a new FitnessContext per call, like the original evaluateFitness
+    @Benchmark
+    public double evaluateFitnessFromLists() {
+        return Common.evaluateFitness(solution, cloudletList, vmList);
+    }
+}
@@ -0,0 +1,65 @@
+package org.fog.test.perfeval;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One iteration of each optimizer's main loop: scoring the population plus one
+ * updatePredators / updateParticles / updateWhales / updateAgents step.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx6g"})
+public class OptimizerIterationBenchmark {
+
+    @Param({"MPA", "MMPA", "IMMPA", "PSO", "WOA", "SCA"})
+    public String algorithm;
+
+    @Param({"12", "1000", "100000"})
+    public int tasks;
+
+    @Param({"12", "60", "1000"})
+    public int vms;
+
+    // Sweep with e.g. -p populationSize=10,30,100 -p evaluationThreads=1,4
+    @Param({"10"})
+    public int populationSize;
+
+    @Param({"1"})
+    public int evaluationThreads;
+
+    private PopulationOptimizer optimizer;
+    private int iteration;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SchedulerConfig config = SchedulerConfig.defaults()
+                .withPopulationSize(populationSize)
+                .withEvaluationThreads(evaluationThreads);
+        optimizer = PopulationOptimizer.create(algorithm, RandomStreams.forName(algorithm + "_Benchmark"), config);
+        optimizer.initialize(BenchmarkWorkloads.problem(tasks, vms));
+        iteration = 0;
+    }
+
+    // Cycles through the iteration range so the MPA phases are all exercised
+    @Benchmark
+    public void iteration() {
+        optimizer.iterate(iteration);
+        iteration = (iteration + 1) % optimizer.getConfig().getMaxIterations();
+    }
+}
@@ -0,0 +1,64 @@
+package org.fog.test.perfeval;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scalar against Vector API fitness kernel for one solution. The setup checks the vector kernel
+ * is actually loaded and agrees with the scalar one, so a missing module fails the run instead of
+ * timing the fallback twice.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector", "-Xms2g", "-Xmx4g"})
+public class VectorKernelBenchmark {
+    private static final double TOLERANCE = 1e-9; // Relative; lane-wise sums round differently
+
+    @Param({"1000", "100000"})
+    public int tasks;
+
+    @Param({"60", "1000"})
+    public int vms;
+
+    @Param({"false", "true"})
+    public boolean vectorized;
+
+    private FitnessKernel kernel;
+    private int[] solution;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        FitnessContext fitnessContext = new FitnessContext(BenchmarkWorkloads.problem(tasks, vms));
+        solution = BenchmarkWorkloads.randomSolution(tasks, vms);
+        kernel = FitnessKernel.create(fitnessContext, vectorized);
+        if (vectorized && kernel.getClass() == FitnessKernel.class) {
+            throw new IllegalStateException("Vector kernel unavailable; run with --add-modules jdk.incubator.vector");
+        }
+
+        double expected = new FitnessKernel(fitnessContext).evaluate(solution);
+        double actual = kernel.evaluate(solution);
+        if (Math.abs(actual - expected) > TOLERANCE * Math.abs(expected)) {
+            throw new IllegalStateException("Fitness " + actual + " differs from scalar " + expected);
+        }
+    }
+
+    @Benchmark
+    public double evaluate() {
+        return kernel.evaluate(solution);
+    }
+}
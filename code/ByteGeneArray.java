@@ -0,0 +1,53 @@
+package org.fog.test.perfeval;
+
+/**
+ * One unsigned byte per gene, for up to 256 VMs.
+ */
+public class ByteGeneArray implements GeneArray {
+    private final byte[] genes;
+
+    public ByteGeneArray(int length) {
+        this.genes = new byte[length];
+    }
+
+    @Override
+    public int get(int index) {
+        return genes[index] & 0xFF;
+    }
+
+    @Override
+    public void set(int index, int vm) {
+        genes[index] = (byte) vm;
+    }
+
+    @Override
+    public int length() {
+        return genes.length;
+    }
+
+    @Override
+    public GeneArray newArray(int length) {
+        return new ByteGeneArray(length);
+    }
+
+    @Override
+    public long sizeInBytes() {
+        return genes.length;
+    }
+
+    @Override
+    public void decode(int from, int[] target, int targetFrom, int count) {
+        for (int i = 0; i < count; i++) {
+            target[targetFrom + i] = genes[from + i] & 0xFF;
+        }
+    }
+
+    @Override
+    public void copyTo(int from, GeneArray target, int targetFrom, int count) {
+        if (target instanceof ByteGeneArray) {
+            System.arraycopy(genes, from, ((ByteGeneArray) target).genes, targetFrom, count);
+        } else {
+            GeneArray.super.copyTo(from, target, targetFrom, count);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package org.fog.test.perfeval;
+
+/**
+ * Looks every individual up in a {@link SolutionCache} and only hands the misses to the wrapped
+ * evaluator. Individuals equal to an earlier miss of the same population are scored once.
+ *
+ * The misses are copied into a contiguous scratch population, except for a
+ * {@link DistributedPopulationEvaluator}: its workers keep their delta base per population row,
+ * so it scores the misses in place, under their own indices.
+ */
+public class CachingPopulationEvaluator implements PopulationEvaluator {
+    private final PopulationEvaluator delegate;
+    private final DistributedPopulationEvaluator distributed; // The delegate if it scores rows in place, else null
+    private final SolutionCache cache;
+
+    // Per-call scratch, grown on demand and reused
+    private Population misses; // Copies of the individuals the delegate has to score
+    private long[] keys = new long[0]; // Hash and check of each individual
+    private int[] missOf = new int[0]; // Index into misses of each individual scored by the delegate, -1 for cache hits
+    private int[] missIndividuals = new int[0]; // Population index of each miss
+    private long duplicates;
+
+    public CachingPopulationEvaluator(PopulationEvaluator delegate, SolutionCache cache) {
+        this.delegate = delegate;
+        this.distributed = delegate instanceof DistributedPopulationEvaluator
+                ? (DistributedPopulationEvaluator) delegate : null;
+        this.cache = cache;
+    }
+
+    @Override
+    public void evaluate(Population population, int from, int to) {
+        ensureCapacity(population);
+        GeneArray genes = population.genes();
+        int numTasks = population.getNumTasks();
+        int missCount = 0;
+
+        for (int i = from; i < to; i++) {
+            cache.hash(genes, population.offset(i), numTasks, keys, i);
+            double cached = cache.lookup(keys[2 * i], keys[2 * i + 1]);
+            if (!Double.isNaN(cached)) {
+                population.setFitness(i, cached);
+                missOf[i] = -1;
+                continue;
+            }
+            int miss = findMiss(i, missCount);
+            if (miss >= 0) {
+                duplicates++;
+            } else {
+                miss = missCount++;
+                missIndividuals[miss] = i;
+                if (distributed == null) {
+                    genes.copyTo(population.offset(i), misses.genes(), misses.offset(miss), numTasks);
+                }
+            }
+            missOf[i] = miss;
+        }
+
+        if (missCount > 0) {
+            if (distributed != null) {
+                distributed.evaluate(population, missIndividuals, missCount); // Ascending, as collected above
+            } else {
+                delegate.evaluate(misses, 0, missCount);
+            }
+            for (int m = 0; m < missCount; m++) {
+                int i = missIndividuals[m];
+                cache.put(keys[2 * i], keys[2 * i + 1], missFitness(population, m));
+            }
+            for (int i = from; i < to; i++) {
+                if (missOf[i] >= 0) {
+                    population.setFitness(i, missFitness(population, missOf[i]));
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    public SolutionCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Individuals that missed the cache but equalled an earlier miss of the same population.
+     */
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    private double missFitness(Population population, int miss) {
+        return distributed != null ? population.getFitness(missIndividuals[miss]) : misses.getFitness(miss);
+    }
+
+    // Earlier miss of this call with the same key as individual i, or -1; populations are small
+    private int findMiss(int i, int missCount) {
+        for (int m = 0; m < missCount; m++) {
+            int other = missIndividuals[m];
+            if (keys[2 * other] == keys[2 * i] && keys[2 * other + 1] == keys[2 * i + 1]) {
+                return m;
+            }
+        }
+        return -1;
+    }
+
+    private void ensureCapacity(Population population) {
+        int size = population.size();
+        if (distributed == null && (misses == null || misses.size() < size
+                || misses.getNumTasks() != population.getNumTasks() || misses.getEncoding() != population.getEncoding())) {
+            misses = population.newPopulation(size);
+        }
+        if (missOf.length < size) {
+            keys = new long[2 * size];
+            missOf = new int[size];
+            missIndividuals = new int[size];
+        }
+    }
+}
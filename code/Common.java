@@ -6,34 +6,68 @@ import org.cloudbus.cloudsim.Vm;
 
 import java.util.Arrays;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 import static org.fog.test.perfeval.Constants.*;
 
 public class Common {
-    public static final Random random = new Random();
-
-    public static void applyFADS(int[] predator, int index, double CF, List<int[]> predators , List<? extends Vm> vmList ) {
+    /**
+     * FADS effect on the gene at task index of one predator: either a small CF-scaled jump or a
+     * move relative to a random predator of the population's current generation. Returns the new,
+     * clamped gene.
+     */
+    public static int applyFADS(int gene, int index, double CF, Population predators, int numVMs, SplittableRandom random) {
         double FADS = 0.2; // Threshold for FADS, adjust as needed
         double r = random.nextDouble(); // Generate a random number between 0 and 1
-        int numVMs = vmList.size(); // Number of VMs
         int XL = 0; // Lower boundary of VM index (assuming VM indices start from 0)
         int XU = numVMs - 1; // Upper boundary of VM index
 
         if (r < FADS) {
             // If random number is within FADS threshold, modify position slightly
             double randFactor = random.nextDouble(); // Generate another random number
-            predator[index] += CF * (XL + randFactor * (XU - XL)); // Adjust position using CF and boundaries
+            gene += CF * (XL + randFactor * (XU - XL)); // Adjust position using CF and boundaries
         } else {
             // If random number exceeds FADS threshold, make a more significant positional change
             int randomPredatorIndex = random.nextInt(predators.size()); // Pick a random predator
-            int[] randomPredator = predators.get(randomPredatorIndex); // Get the random predator
+            int randomPredatorGene = predators.get(randomPredatorIndex, index); // Gene of the random predator
             // Calculate new position based on random predator and current predator
-            predator[index] = randomPredator[index] + (int)((FADS * (1 - r) + r) * (randomPredator[index] - predator[index]));
+            gene = randomPredatorGene + (int)((FADS * (1 - r) + r) * (randomPredatorGene - gene));
         }
 
         // Ensure the updated position is within the VM boundaries
-        predator[index] = Math.max(XL, Math.min(predator[index], XU)); // Clamp the position to valid VM indices
+        return Math.max(XL, Math.min(gene, XU)); // Clamp the position to valid VM indices
+    }
+
+
+    /**
+     * Local refinement by single-task moves: each move sends a random task to a random other VM
+     * and is kept only if it improves the fitness. The solution array is updated in place.
+     */
+    public static void refineSolution(int[] solution, IncrementalEvaluator evaluator, SplittableRandom random, int moves) {
+        int numTasks = solution.length;
+        int numVMs = evaluator.getNumVMs();
+        if (numTasks == 0 || numVMs < 2) {
+            return;
+        }
+        evaluator.reset(solution);
+        double currentFitness = evaluator.fitness();
+
+        for (int m = 0; m < moves; m++) {
+            int task = random.nextInt(numTasks);
+            int fromVm = evaluator.getAssignedVm(task);
+            int toVm = random.nextInt(numVMs - 1);
+            if (toVm >= fromVm) {
+                toVm++; // Skip the VM the task is already on
+            }
+            double fitness = evaluator.move(task, fromVm, toVm);
+            if (fitness < currentFitness) {
+                currentFitness = fitness;
+                evaluator.commit();
+            } else {
+                evaluator.undo();
+            }
+        }
+        evaluator.copyAssignment(solution);
     }
 
 
@@ -76,16 +110,16 @@ public class Common {
 
     public static double evaluateFitness(int[] predator, List<? extends Cloudlet> cloudletList, List<? extends Vm> vmList) {
         if (cloudletList != null && vmList != null) {
-            double[][] taskExecutionTimes = calculateTaskExecutionTimes(cloudletList, vmList);
-            double makespan = calculateMakespan(predator, taskExecutionTimes , cloudletList, vmList);
-            double totalEnergyConsumption = calculateTotalEnergyConsumption(predator, taskExecutionTimes , makespan , vmList);
-
-            return calculateFitness(totalEnergyConsumption, makespan);
+            return evaluateFitness(predator, new FitnessContext(cloudletList, vmList));
         }
         return 0;
 
     }
 
+    public static double evaluateFitness(int[] predator, FitnessContext context) {
+        return context.evaluate(predator);
+    }
+
     public static double calculateTotalEnergyConsumption(int[] predator, double[][] taskExecutionTimes, double makespan, List<? extends Vm> vmList) {
         double totalEnergyConsumption = 0;
         for (int vmId = 0; vmId < vmList.size(); vmId++) {
@@ -139,13 +173,17 @@ public class Common {
 
 
     public static double calculateTaskEnergyConsumption(double mips, double executionTime, double makespan) {
+        return calculateTaskEnergyConsumptionSquared(Math.pow(mips, 2), executionTime, makespan);
+    }
+
+    public static double calculateTaskEnergyConsumptionSquared(double mipsSquared, double executionTime, double makespan) {
         double K = 1e-8;
         double S = 0.6; // Factor of energy consumed in the active state
 
         double idleTime = makespan - executionTime; // Idle time for the VM
 
-        double energyActive = executionTime * K * Math.pow(mips, 2);
-        double energyIdle = idleTime * K * Math.pow(mips, 2);
+        double energyActive = executionTime * K * mipsSquared;
+        double energyIdle = idleTime * K * mipsSquared;
 
         return (energyActive + energyIdle) * S;
     }
@@ -183,34 +221,47 @@ public class Common {
     }
 
     public static double calculateFitness(double energyConsumption, double makespan) {
-        return ALPHA * energyConsumption + (1 - ALPHA) * makespan;
+        return calculateFitness(ALPHA, energyConsumption, makespan);
+    }
+
+    public static double calculateFitness(double alpha, double energyConsumption, double makespan) {
+        return alpha * energyConsumption + (1 - alpha) * makespan;
     }
 
     public static void reportResults(int[] bestSolution , List<? extends Cloudlet> cloudletList, List<? extends Vm> vmList) {
+        reportResults(bestSolution, new FitnessContext(cloudletList, vmList));
+    }
+
+    public static void reportResults(int[] bestSolution , FitnessContext context) {
         if (bestSolution == null) {
             System.out.println("No solution found.");
             return;
         }
-        double fitness = evaluateFitness(bestSolution , cloudletList, vmList);
-        double[][] taskExecutionTimes = calculateTaskExecutionTimes(cloudletList, vmList);
+        reportResults(SchedulingResult.of(null, bestSolution, context, 0, 0, 0, null, 0));
+    }
 
-        double makespan = calculateMakespan(bestSolution, taskExecutionTimes, cloudletList, vmList);
+    public static void reportResults(SchedulingResult result) {
+        if (result == null) {
+            System.out.println("No solution found.");
+            return;
+        }
         System.out.println();
         System.out.println("***********************************************************");
-        double totalEnergyConsumption = calculateTotalEnergyConsumption(bestSolution, taskExecutionTimes, makespan, vmList);
         System.out.println("***********************************************************");
         System.out.println();
-        double totalFlowTime = calculateFlowTime(bestSolution, taskExecutionTimes);
-        double co2Emission = calculateCO2Emission(totalEnergyConsumption);
         System.out.println();
         System.out.println("Results for the best solution:");
         System.out.println();
-        System.out.println("Best Solution: " + Arrays.toString(bestSolution));
-        System.out.println("fitness: " + fitness );
-        System.out.println("Makespan: " + makespan + " time units");
-        System.out.println("Total Energy Consumption: " + totalEnergyConsumption + " energy units");
-        System.out.println("Total Flow Time: " + totalFlowTime + " time units");
-        System.out.println("CO2 Emissions: " + co2Emission + " emission units");
+        System.out.println("Best Solution: " + Arrays.toString(result.getAssignment()));
+        System.out.println("fitness: " + result.getFitness() );
+        System.out.println("Makespan: " + result.getMakespan() + " time units");
+        System.out.println("Total Energy Consumption: " + result.getTotalEnergyConsumption() + " energy units");
+        System.out.println("Total Flow Time: " + result.getTotalFlowTime() + " time units");
+        System.out.println("CO2 Emissions: " + result.getCo2Emission() + " emission units");
+        if (result.getStopReason() != null) {
+            System.out.println("Stop reason: " + result.getStopReason() + " after " + result.getIterations() + " iterations, "
+                    + result.getEvaluations() + " evaluations (" + result.getCacheHits() + " from the cache)");
+        }
         System.out.println();
         System.out.println();
     }
@@ -0,0 +1,34 @@
+package org.fog.test.perfeval;
+
+import java.util.List;
+
+/**
+ * Stops as soon as any of its policies does. Every policy is checked each time so that stateful
+ * ones keep seeing the whole run.
+ */
+public class CompositeStoppingPolicy implements StoppingPolicy {
+    private final List<StoppingPolicy> policies;
+
+    public CompositeStoppingPolicy(List<StoppingPolicy> policies) {
+        this.policies = List.copyOf(policies);
+    }
+
+    @Override
+    public StopReason check(SearchProgress progress) {
+        StopReason reason = null;
+        for (StoppingPolicy policy : policies) {
+            StopReason policyReason = policy.check(progress);
+            if (reason == null) {
+                reason = policyReason;
+            }
+        }
+        return reason;
+    }
+
+    @Override
+    public void reset() {
+        for (StoppingPolicy policy : policies) {
+            policy.reset();
+        }
+    }
+}
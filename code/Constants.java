@@ -1,5 +1,12 @@
 package org.fog.test.perfeval;
 
+/**
+ * Compiled-in settings. NO_OF_VMS, NO_OF_VMS2, the cloudlet lengths, MAX_ITERATION, PREDATORS_NO,
+ * ALPHA, FI, PR, PIT, RANDOM_SEED, EVALUATION_THREADS, LOCAL_SEARCH_MOVES, SEEDED_FRACTION and
+ * AGGREGATE_VM_TYPES are only the defaults of {@link SchedulerConfig}, which can override them per
+ * run. The last three change what the optimizers search, so they are off by default and a default
+ * run reproduces the baseline algorithms.
+ */
 public class Constants {
     public static final int NO_OF_VMS = 60; // number of Cloudlets;
     public static final int NO_OF_VMS2 = 12; // number of Cloudlets;
@@ -14,6 +21,37 @@ public class Constants {
     public static final int FI = 60;
     public static final int PR = 300;
     public static final int PIT = 800;
+    public static final double LEVY_BETA = 1.5; // Levy exponent of the MPA exploitation moves
+    public static final int LEVY_TABLE_SIZE = 0; // > 0 draws Levy steps from a pre-computed table of this size
+    public static final long RANDOM_SEED = 20240101L; // Seed of every broker's random streams; same seed, same schedule
+    public static final int EVALUATION_THREADS = 1; // 1 = sequential, 0 = common fork-join pool, n > 1 = dedicated pool of n threads
+    public static final int EVALUATION_WORKERS = 0; // > 0 shards evaluation across this many in-process (loopback) workers
+    public static final String EVALUATION_WORKER_HOSTS = ""; // "host:port,..." of socket workers; non-empty overrides the two settings above
+    public static final String EVALUATION_WORKER_BIND_ADDRESS = ""; // Address socket workers listen on; empty = loopback only
+    public static final int EVALUATION_MAX_MESSAGE_BYTES = 512 << 20; // Largest message a socket channel accepts; bounds the ETC matrix a worker takes
+    public static final int EVALUATION_WORKER_MAX_SLOTS = 1 << 16; // Solutions a worker keeps per coordinator, i.e. the largest population it serves
+    public static final boolean VECTOR_FITNESS_KERNEL = false; // Vector API kernel; needs the fog-scheduling-vector jar and --add-modules jdk.incubator.vector, else the scalar one is used
+    public static final GeneEncoding GENE_ENCODING = GeneEncoding.AUTO; // How populations store VM indices; AUTO picks the smallest that fits
+    public static final int MAX_ETC_ENTRIES = 1 << 27; // Largest tasks x VMs of one problem (1 GiB of ETC matrix); bigger workloads are scheduled in windows
+    public static final int ISLANDS = 4; // Populations of the island model, one thread each
+    public static final int MIGRATION_INTERVAL = 50; // Iterations between two migrations of the island model
+    public static final int MIGRANTS = 2; // Elite individuals each island sends to the next one per migration
+    public static final boolean SYNCHRONOUS_MIGRATION = true; // true = islands migrate in lockstep (reproducible), false = asynchronous
+    public static final int STREAM_WINDOW_SIZE = 100; // Cloudlets per micro-batch of the streaming broker
+    public static final double STREAM_WINDOW_INTERVAL = 10.0; // Simulated seconds between two micro-batches
+    public static final long STREAM_WINDOW_LATENCY_MICROS = 50_000; // Optimization time allowed per micro-batch; 0 = unbounded
+    public static final double SEEDED_FRACTION = 0.0; // > 0 builds this share of each initial population by greedy heuristics instead of at random
+    public static final SeedingHeuristic[] SEEDING_HEURISTICS = {SeedingHeuristic.ENERGY_GREEDY, SeedingHeuristic.MCT,
+            SeedingHeuristic.MAX_MIN, SeedingHeuristic.MIN_MIN, SeedingHeuristic.LPT}; // Used in this order, one seeded individual each
+    public static final boolean AGGREGATE_VM_TYPES = false; // true searches over VM types (same MIPS and PEs) instead of single VMs when some VMs are identical
+    public static final int FITNESS_CACHE_SIZE = 1024; // Solutions whose fitness is cached by content; 0 disables the cache
+    public static final int LOCAL_SEARCH_MOVES = 0; // > 0 tries this many single-task moves on the best solution before submitting
+    public static final int NO_IMPROVEMENT_ITERATIONS = 0; // > 0 stops a run after this many iterations without a better solution
+    public static final double CONVERGENCE_DELTA = 0.0; // > 0 stops a run whose best fitness improved by less than this fraction...
+    public static final int CONVERGENCE_WINDOW = 100; // ...over this many iterations
+    public static final long TIME_BUDGET_MS = 0; // > 0 stops a run after this much wall-clock time
+    public static final long EVALUATION_BUDGET = 0; // > 0 stops a run after this many fitness evaluations
+    public static final long DEADLINE_MICROS = 0; // > 0 returns the best solution so far once this much time has passed (anytime mode)
 
 
 }
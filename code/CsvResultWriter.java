@@ -0,0 +1,87 @@
+package org.fog.test.perfeval;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes one CSV row per finished {@link ExperimentTrial} and flushes it, so a long sweep can be
+ * watched, and survives a crash, row by row. Rows come in completion order; the trial column
+ * gives the matrix order. Safe to call from several threads.
+ */
+public class CsvResultWriter implements AutoCloseable {
+    static final String HEADER = "trial,algorithm,workload,tasks,vms,seed,maxIterations,populationSize,fi,pr,pit,alpha,"
+            + "evaluationThreads,localSearchMoves,seededFraction,aggregateVmTypes,noImprovementIterations,"
+            + "convergenceDelta,convergenceWindow,timeBudgetMs,evaluationBudget,deadlineMicros,fitness,makespan,energy,co2,flowTime,"
+            + "wallMillis,iterations,evaluations,evaluationsPerSecond,cacheHits,stopReason,error";
+
+    private final Writer out;
+
+    public CsvResultWriter(Path path) throws IOException {
+        this(Files.newBufferedWriter(path, StandardCharsets.UTF_8));
+    }
+
+    public CsvResultWriter(Writer out) {
+        this.out = out instanceof BufferedWriter ? out : new BufferedWriter(out);
+        writeLine(HEADER);
+    }
+
+    /**
+     * Row of a trial that finished with result after wallNanos.
+     */
+    public void write(ExperimentTrial trial, SchedulingResult result, long wallNanos) {
+        double seconds = wallNanos / 1e9;
+        writeLine(prefix(trial) + ',' + result.getFitness() + ',' + result.getMakespan() + ','
+                + result.getTotalEnergyConsumption() + ',' + result.getCo2Emission() + ',' + result.getTotalFlowTime() + ','
+                + wallNanos / 1e6 + ',' + result.getIterations() + ',' + result.getEvaluations() + ','
+                + (seconds > 0 ? result.getEvaluations() / seconds : 0) + ',' + result.getCacheHits() + ','
+                + result.getStopReason() + ',');
+    }
+
+    /**
+     * Row of a trial that threw; the metric columns stay empty.
+     */
+    public void writeFailure(ExperimentTrial trial, Throwable error) {
+        writeLine(prefix(trial) + ",,,,,,,,,,,," + quote(String.valueOf(error)));
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+
+    private static String prefix(ExperimentTrial trial) {
+        SchedulerConfig config = trial.getConfig();
+        SchedulingProblem problem = trial.getWorkload().getProblem();
+        return trial.getIndex() + "," + trial.getAlgorithm() + ',' + quote(trial.getWorkload().getName()) + ','
+                + problem.getNumTasks() + ',' + problem.getNumVMs() + ',' + config.getRandomSeed() + ','
+                + config.getMaxIterations() + ',' + config.getPopulationSize() + ',' + config.getFi() + ','
+                + config.getPr() + ',' + config.getPit() + ',' + config.getAlpha() + ',' + config.getEvaluationThreads() + ','
+                + config.getLocalSearchMoves() + ',' + config.getSeededFraction() + ','
+                + config.isAggregateVmTypes() + ',' + config.getNoImprovementIterations() + ','
+                + config.getConvergenceDelta() + ',' + config.getConvergenceWindow() + ',' + config.getTimeBudgetMs() + ','
+                + config.getEvaluationBudget() + ',' + config.getDeadlineMicros();
+    }
+
+    // RFC 4180: fields with a comma, quote or line break are quoted, inner quotes doubled
+    private static String quote(String field) {
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0 && field.indexOf('\r') < 0) {
+            return field;
+        }
+        return '"' + field.replace("\"", "\"\"") + '"';
+    }
+
+    private synchronized void writeLine(String line) {
+        try {
+            out.write(line);
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write results", e);
+        }
+    }
+}
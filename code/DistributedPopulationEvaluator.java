@@ -0,0 +1,236 @@
+package org.fog.test.perfeval;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Coordinator side of distributed evaluation: shards every generation across
+ * {@link EvaluationWorker}s, one contiguous range of individuals per worker, and collects their
+ * fitness values. The execution-time matrix is sent to each worker once; afterwards an individual
+ * is sent as the genes that changed since that worker last saw the same row.
+ *
+ * All requests go out before any reply is read, so the workers evaluate concurrently. A worker
+ * that fails replies with the reason, which evaluate() rethrows in an UncheckedIOException. Any
+ * failure closes every channel, since the other workers' replies are left unread; the evaluator
+ * cannot be used afterwards.
+ */
+public class DistributedPopulationEvaluator implements PopulationEvaluator {
+    private final EvaluationChannel[] channels;
+    private final int numTasks;
+    private final int[][][] sentSolutions; // Per worker and row, the solution that worker holds
+    private final int[] solution; // Scratch row, decoded from the population
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private final DistributionMetrics metrics;
+    private final int[] shardEnds; // Scratch: end of each worker's shard in the row list
+    private int[] rows = new int[0]; // Scratch: the rows of a range evaluation
+    private boolean failed; // An evaluation failed and the channels were closed
+
+    public DistributedPopulationEvaluator(FitnessContext context, List<? extends EvaluationChannel> channels) {
+        if (channels.isEmpty()) {
+            throw new IllegalArgumentException("Need at least one worker");
+        }
+        this.channels = channels.toArray(new EvaluationChannel[0]);
+        this.numTasks = context.getNumTasks();
+        this.sentSolutions = new int[this.channels.length][0][];
+        this.solution = new int[numTasks];
+        this.metrics = new DistributionMetrics(this.channels.length);
+        this.shardEnds = new int[this.channels.length];
+        try {
+            WireFormat.writeSetup(new DataOutputStream(buffer), context);
+            byte[] setup = buffer.toByteArray();
+            for (EvaluationChannel channel : this.channels) {
+                channel.send(setup);
+                metrics.recordSent(setup.length);
+            }
+        } catch (IOException e) {
+            for (EvaluationChannel channel : this.channels) {
+                closeQuietly(channel);
+            }
+            throw new UncheckedIOException("Cannot set up the evaluation workers", e);
+        }
+    }
+
+    /**
+     * Coordinator with the given number of in-process workers, each on its own daemon thread.
+     */
+    public static DistributedPopulationEvaluator loopback(FitnessContext context, int workers) {
+        List<EvaluationChannel> channels = new ArrayList<>();
+        for (int w = 0; w < workers; w++) {
+            LoopbackChannel[] pair = LoopbackChannel.pair();
+            Thread thread = new Thread(new EvaluationWorker(pair[1]), "evaluation-worker-" + w);
+            thread.setDaemon(true);
+            thread.start();
+            channels.add(pair[0]);
+        }
+        return new DistributedPopulationEvaluator(context, channels);
+    }
+
+    /**
+     * Coordinator connected over TCP to workers given as "host:port,host:port,...".
+     */
+    public static DistributedPopulationEvaluator connect(FitnessContext context, String workers) {
+        List<EvaluationChannel> channels = new ArrayList<>();
+        try {
+            for (String worker : workers.split(",")) {
+                String[] hostPort = worker.trim().split(":");
+                int port = hostPort.length > 1 ? Integer.parseInt(hostPort[1]) : EvaluationWorker.DEFAULT_PORT;
+                channels.add(SocketEvaluationChannel.connect(hostPort[0], port));
+            }
+        } catch (IOException e) {
+            for (EvaluationChannel channel : channels) {
+                closeQuietly(channel);
+            }
+            throw new UncheckedIOException("Cannot connect to evaluation workers " + workers, e);
+        }
+        return new DistributedPopulationEvaluator(context, channels);
+    }
+
+    @Override
+    public void evaluate(Population population, int from, int to) {
+        int count = to - from;
+        ensureRows(count);
+        for (int k = 0; k < count; k++) {
+            rows[k] = from + k;
+        }
+        for (int w = 0; w < channels.length; w++) {
+            shardEnds[w] = (int) ((long) count * (w + 1) / channels.length);
+        }
+        evaluate(population, rows, shardEnds);
+    }
+
+    /**
+     * Scores the count individuals whose indices are listed, in ascending order, in rows, e.g. the
+     * cache misses of a generation. Each row goes to the worker that holds it in a whole-population
+     * evaluation, so it is sent as a delta against that worker's copy of the same individual.
+     */
+    public void evaluate(Population population, int[] rows, int count) {
+        int size = population.size();
+        int k = 0;
+        for (int w = 0; w < channels.length; w++) {
+            int bound = (int) ((long) size * (w + 1) / channels.length);
+            while (k < count && rows[k] < bound) {
+                k++;
+            }
+            shardEnds[w] = k;
+        }
+        evaluate(population, rows, shardEnds);
+    }
+
+    // Worker w scores rows[shardEnds[w - 1]..shardEnds[w] - 1]
+    private void evaluate(Population population, int[] rows, int[] shardEnds) {
+        if (failed) {
+            throw new IllegalStateException("An earlier distributed evaluation failed; the workers are closed");
+        }
+        long start = System.nanoTime();
+        int workers = channels.length;
+        try {
+            for (int w = 0; w < workers; w++) {
+                int shardFrom = w == 0 ? 0 : shardEnds[w - 1];
+                if (shardFrom < shardEnds[w]) {
+                    byte[] request = encodeShard(w, population, rows, shardFrom, shardEnds[w]);
+                    channels[w].send(request);
+                    metrics.recordSent(request.length);
+                }
+            }
+            for (int w = 0; w < workers; w++) {
+                int shardFrom = w == 0 ? 0 : shardEnds[w - 1];
+                if (shardFrom < shardEnds[w]) {
+                    byte[] reply = channels[w].receive();
+                    DataInputStream in = new DataInputStream(new ByteArrayInputStream(reply));
+                    byte type = in.readByte();
+                    if (type == WireFormat.ERROR) {
+                        throw new IOException("Worker " + w + " failed: " + WireFormat.readError(in));
+                    }
+                    if (type != WireFormat.RESULT) {
+                        throw new IOException("Unexpected reply from worker " + w);
+                    }
+                    metrics.recordReceived(w, reply.length, in.readLong());
+                    for (int k = shardFrom; k < shardEnds[w]; k++) {
+                        population.setFitness(rows[k], in.readDouble());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            fail();
+            throw new UncheckedIOException("Distributed evaluation failed", e);
+        } catch (RuntimeException e) {
+            fail();
+            throw e;
+        }
+        metrics.recordGeneration(System.nanoTime() - start);
+    }
+
+    private byte[] encodeShard(int worker, Population population, int[] rows, int from, int to) throws IOException {
+        int end = rows[to - 1] + 1; // Rows are ascending
+        if (sentSolutions[worker].length < end) {
+            sentSolutions[worker] = Arrays.copyOf(sentSolutions[worker], end);
+        }
+        int[][] sent = sentSolutions[worker];
+        buffer.reset();
+        DataOutputStream out = new DataOutputStream(buffer);
+        out.writeByte(WireFormat.EVALUATE);
+        WireFormat.writeVarint(out, to - from);
+        for (int k = from; k < to; k++) {
+            int i = rows[k];
+            population.copyTo(i, solution);
+            WireFormat.writeVarint(out, i);
+            WireFormat.writeSolution(out, solution, sent[i]);
+            if (sent[i] == null) {
+                sent[i] = solution.clone();
+            }
+        }
+        return buffer.toByteArray();
+    }
+
+    // Replies of the other workers may still be pending; they must not answer a later call
+    private void fail() {
+        failed = true;
+        for (EvaluationChannel channel : channels) {
+            closeQuietly(channel);
+        }
+    }
+
+    private void ensureRows(int count) {
+        if (rows.length < count) {
+            rows = new int[count];
+        }
+    }
+
+    public DistributionMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Tells every worker to exit and closes the channels.
+     */
+    @Override
+    public void close() {
+        if (failed) {
+            return; // Channels already closed
+        }
+        byte[] close = {WireFormat.CLOSE};
+        for (EvaluationChannel channel : channels) {
+            try {
+                channel.send(close);
+            } catch (IOException e) {
+                // Worker already gone
+            }
+            closeQuietly(channel);
+        }
+    }
+
+    private static void closeQuietly(EvaluationChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Nothing left to release
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package org.fog.test.perfeval;
+
+/**
+ * Counters of a {@link DistributedPopulationEvaluator}: one generation is one evaluate() call.
+ * Updated by the coordinating thread only.
+ */
+public class DistributionMetrics {
+    private final long[] workerBusyNanos;
+    private long generations;
+    private long totalLatencyNanos;
+    private long lastLatencyNanos;
+    private long bytesSent;
+    private long bytesReceived;
+
+    DistributionMetrics(int workers) {
+        this.workerBusyNanos = new long[workers];
+    }
+
+    void recordGeneration(long latencyNanos) {
+        generations++;
+        totalLatencyNanos += latencyNanos;
+        lastLatencyNanos = latencyNanos;
+    }
+
+    void recordSent(int bytes) {
+        bytesSent += bytes;
+    }
+
+    void recordReceived(int worker, int bytes, long busyNanos) {
+        bytesReceived += bytes;
+        workerBusyNanos[worker] += busyNanos;
+    }
+
+    public long getGenerations() {
+        return generations;
+    }
+
+    public long getLastLatencyNanos() {
+        return lastLatencyNanos;
+    }
+
+    public double getMeanLatencyNanos() {
+        return generations == 0 ? 0 : (double) totalLatencyNanos / generations;
+    }
+
+    /**
+     * Bytes of all messages sent to the workers, including the one-time setup.
+     */
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    /**
+     * Fraction of the generation wall time the worker spent evaluating, between 0 and 1.
+     */
+    public double getUtilization(int worker) {
+        return totalLatencyNanos == 0 ? 0 : Math.min(1.0, (double) workerBusyNanos[worker] / totalLatencyNanos);
+    }
+
+    public int getWorkers() {
+        return workerBusyNanos.length;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Distributed evaluation: %d generations, %.3f ms mean latency, %d bytes sent, %d bytes received, utilization",
+                generations, getMeanLatencyNanos() / 1e6, bytesSent, bytesReceived));
+        for (int w = 0; w < workerBusyNanos.length; w++) {
+            sb.append(String.format(" %.0f%%", getUtilization(w) * 100));
+        }
+        return sb.toString();
+    }
+}
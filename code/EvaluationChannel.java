@@ -0,0 +1,19 @@
+package org.fog.test.perfeval;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Message transport between a {@link DistributedPopulationEvaluator} and one
+ * {@link EvaluationWorker}. Messages are whole byte arrays delivered in order; how they travel
+ * (in-process queues, sockets, ...) is up to the implementation.
+ */
+public interface EvaluationChannel extends Closeable {
+
+    void send(byte[] message) throws IOException;
+
+    /**
+     * Blocks until the next message arrives; throws EOFException once the other side closed.
+     */
+    byte[] receive() throws IOException;
+}
@@ -0,0 +1,171 @@
+package org.fog.test.perfeval;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Arrays;
+
+/**
+ * Worker side of distributed evaluation: receives the execution-time matrix once, then scores the
+ * solutions sent to it until the channel closes. Keeps the last solution of every slot, so
+ * requests only need to carry the genes that changed.
+ *
+ * Run standalone with "java org.fog.test.perfeval.EvaluationWorker [port [bindAddress]]" to serve
+ * coordinators connecting over TCP. The worker authenticates nobody, so it listens on the loopback
+ * interface unless given another address; every size a message declares is validated before the
+ * worker allocates for it.
+ */
+public class EvaluationWorker implements Runnable {
+    public static final int DEFAULT_PORT = 7077;
+
+    private final EvaluationChannel channel;
+    private final int maxSlots;
+    private FitnessKernel kernel;
+    private int numTasks;
+    private int numVMs;
+    private int[][] slots = new int[0][];
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+    public EvaluationWorker(EvaluationChannel channel) {
+        this(channel, Constants.EVALUATION_WORKER_MAX_SLOTS);
+    }
+
+    /**
+     * Worker that keeps at most maxSlots solutions, so it serves populations of up to that size.
+     */
+    public EvaluationWorker(EvaluationChannel channel, int maxSlots) {
+        this.channel = channel;
+        this.maxSlots = maxSlots;
+    }
+
+    @Override
+    public void run() {
+        try (EvaluationChannel ignored = channel) {
+            while (true) {
+                byte[] message = channel.receive();
+                try {
+                    if (!handle(new DataInputStream(new ByteArrayInputStream(message)))) {
+                        return;
+                    }
+                } catch (IOException | RuntimeException e) {
+                    // A bad message or a failing kernel: tell the coordinator why, then stop
+                    sendError(e);
+                    return;
+                }
+            }
+        } catch (EOFException e) {
+            // Coordinator went away without saying goodbye
+        } catch (IOException e) {
+            System.err.println("Evaluation worker stopped: " + e.getMessage());
+        }
+    }
+
+    // Returns false on CLOSE
+    private boolean handle(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        if (type == WireFormat.CLOSE) {
+            return false;
+        } else if (type == WireFormat.SETUP) {
+            FitnessContext context = WireFormat.readSetup(in, in.available());
+            kernel = context.newKernel();
+            numTasks = context.getNumTasks();
+            numVMs = context.getNumVMs();
+            slots = new int[0][];
+        } else if (type == WireFormat.EVALUATE) {
+            channel.send(evaluate(in));
+        } else {
+            throw new IOException("Unknown message type " + type);
+        }
+        return true;
+    }
+
+    private void sendError(Exception error) {
+        try {
+            buffer.reset();
+            WireFormat.writeError(new DataOutputStream(buffer), error);
+            channel.send(buffer.toByteArray());
+        } catch (IOException e) {
+            // The coordinator is gone too; closing the channel is all that is left
+        }
+    }
+
+    // in reads a byte array, so its available() is the rest of the message
+    private byte[] evaluate(DataInputStream in) throws IOException {
+        if (kernel == null) {
+            throw new IOException("EVALUATE before SETUP");
+        }
+        long start = System.nanoTime();
+        int count = WireFormat.readVarint(in);
+        if (count < 0 || count > in.available() / 2) { // Every solution takes at least a slot and an encoding byte
+            throw new IOException("EVALUATE of " + count + " solutions in " + in.available() + " bytes");
+        }
+        double[] fitness = new double[count];
+        for (int i = 0; i < count; i++) {
+            int[] solution = slot(WireFormat.readVarint(in));
+            WireFormat.readSolution(in, solution, numVMs);
+            fitness[i] = kernel.evaluate(solution);
+        }
+        long busyNanos = System.nanoTime() - start;
+
+        buffer.reset();
+        DataOutputStream out = new DataOutputStream(buffer);
+        out.writeByte(WireFormat.RESULT);
+        out.writeLong(busyNanos);
+        for (double f : fitness) {
+            out.writeDouble(f);
+        }
+        return buffer.toByteArray();
+    }
+
+    private int[] slot(int index) throws IOException {
+        if (index < 0 || index >= maxSlots) {
+            throw new IOException("Slot " + index + " out of range 0.." + (maxSlots - 1));
+        }
+        if (index >= slots.length) {
+            slots = Arrays.copyOf(slots, Math.max(index + 1, slots.length * 2));
+        }
+        if (slots[index] == null) {
+            slots[index] = new int[numTasks];
+        }
+        return slots[index];
+    }
+
+    /**
+     * Accepts coordinators on the given port of the address in Constants.EVALUATION_WORKER_BIND_ADDRESS,
+     * loopback only if it is empty, forever.
+     */
+    public static void serve(int port) throws IOException {
+        String address = Constants.EVALUATION_WORKER_BIND_ADDRESS;
+        serve(port, address.isEmpty() ? InetAddress.getLoopbackAddress() : InetAddress.getByName(address));
+    }
+
+    /**
+     * Accepts coordinators on the given port and address forever, serving each connection on its
+     * own thread.
+     */
+    public static void serve(int port, InetAddress bindAddress) throws IOException {
+        try (ServerSocket server = new ServerSocket(port, 50, bindAddress)) {
+            while (true) {
+                Socket socket = server.accept();
+                Thread thread = new Thread(new EvaluationWorker(new SocketEvaluationChannel(socket)),
+                        "evaluation-worker-" + socket.getRemoteSocketAddress());
+                thread.start();
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        if (args.length > 1) {
+            serve(port, InetAddress.getByName(args[1]));
+        } else {
+            serve(port);
+        }
+    }
+}
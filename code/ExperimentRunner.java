@@ -0,0 +1,199 @@
+package org.fog.test.perfeval;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Batch runner for algorithm comparisons and parameter sweeps: runs every combination of
+ * algorithm, workload, seed and config grid point as an independent {@link ExperimentTrial} and
+ * streams one CSV row per trial as it finishes.
+ *
+ * Trials run on a fixed thread pool. Each one builds its own optimizer and schedules through the
+ * headless optimizer API, so nothing touches CloudSim's static simulation state and any number of
+ * trials can run at once. Trials on the same workload share its fitness context, which is
+ * released once the last of them has finished, so the heap holds one ETC matrix per workload
+ * rather than one per thread.
+ */
+public class ExperimentRunner {
+    public static final List<String> ALGORITHMS = Arrays.asList("MPA", "MMPA", "IMMPA", "PSO", "WOA", "SCA");
+
+    private final List<ExperimentTrial> trials = new ArrayList<>();
+    private final int threads;
+
+    /**
+     * Matrix of configs x workloads x algorithms x seeds, in that nesting order; each trial runs
+     * with its config's seed replaced by one of the seeds.
+     */
+    public ExperimentRunner(List<String> algorithms, List<ExperimentWorkload> workloads, long[] seeds,
+                            List<SchedulerConfig> configs, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Need at least one thread");
+        }
+        this.threads = threads;
+        for (SchedulerConfig config : configs) {
+            for (ExperimentWorkload workload : workloads) {
+                for (String algorithm : algorithms) {
+                    for (long seed : seeds) {
+                        trials.add(new ExperimentTrial(trials.size(), algorithm, workload, config.withRandomSeed(seed)));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Every combination of the values of each key applied to base, in order with the last key
+     * varying fastest; values are the text form SchedulerConfig.with(key, value) takes.
+     */
+    public static List<SchedulerConfig> grid(SchedulerConfig base, Map<String, List<String>> axes) {
+        List<SchedulerConfig> configs = new ArrayList<>();
+        configs.add(base);
+        for (Map.Entry<String, List<String>> axis : axes.entrySet()) {
+            List<SchedulerConfig> expanded = new ArrayList<>(configs.size() * axis.getValue().size());
+            for (SchedulerConfig config : configs) {
+                for (String value : axis.getValue()) {
+                    expanded.add(config.with(axis.getKey(), value));
+                }
+            }
+            configs = expanded;
+        }
+        return configs;
+    }
+
+    public List<ExperimentTrial> getTrials() {
+        return trials;
+    }
+
+    /**
+     * Runs every trial and writes its row to out as soon as it finishes. A trial that throws gets
+     * a row with its error and does not stop the others. Returns the number of failed trials.
+     */
+    public int run(CsvResultWriter out) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        int failures = 0;
+        try {
+            CompletionService<Void> completed = new ExecutorCompletionService<>(pool);
+            Map<ExperimentWorkload, AtomicInteger> trialsLeft = new IdentityHashMap<>();
+            for (ExperimentTrial trial : trials) {
+                trialsLeft.computeIfAbsent(trial.getWorkload(), workload -> new AtomicInteger()).incrementAndGet();
+            }
+            for (ExperimentTrial trial : trials) {
+                AtomicInteger left = trialsLeft.get(trial.getWorkload());
+                completed.submit(() -> {
+                    long start = System.nanoTime();
+                    try {
+                        SchedulingResult result = trial.run();
+                        out.write(trial, result, System.nanoTime() - start);
+                    } catch (RuntimeException | Error e) {
+                        out.writeFailure(trial, e);
+                        throw e;
+                    } finally {
+                        if (left.decrementAndGet() == 0) {
+                            trial.getWorkload().releaseContext();
+                        }
+                    }
+                    return null;
+                });
+            }
+            for (int i = 0; i < trials.size(); i++) {
+                try {
+                    completed.take().get();
+                } catch (ExecutionException e) {
+                    failures++;
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return failures;
+    }
+
+    /**
+     * Usage: ExperimentRunner [--algorithms=MPA,PSO] [--workloads=simulation1,1000x60,10000x100/pareto] [--seeds=1..10]
+     * [--threads=8] [--out=results.csv] [--grid.populationSize=10,30] [--maxIterations=500 ...].
+     * Defaults: all six algorithms, both simulation workloads, the config's seed, one thread per
+     * core and results.csv. --grid.key lists the values to sweep a SchedulerConfig key over; any
+     * other argument sets the base config as in SchedulerConfig.load.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        List<String> algorithms = ALGORITHMS;
+        List<String> workloadSpecs = Arrays.asList("simulation1", "simulation2");
+        String seedSpec = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        String out = "results.csv";
+        Map<String, List<String>> axes = new LinkedHashMap<>();
+        List<String> configArgs = new ArrayList<>();
+
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            String key = arg.startsWith("--") && equals > 0 ? arg.substring(2, equals) : "";
+            String value = arg.substring(equals + 1);
+            if (key.equals("algorithms")) {
+                algorithms = Arrays.asList(value.split(","));
+            } else if (key.equals("workloads")) {
+                workloadSpecs = Arrays.asList(value.split(","));
+            } else if (key.equals("seeds")) {
+                seedSpec = value;
+            } else if (key.equals("threads")) {
+                threads = Integer.parseInt(value);
+            } else if (key.equals("out")) {
+                out = value;
+            } else if (key.startsWith("grid.")) {
+                axes.put(key.substring("grid.".length()), Arrays.asList(value.split(",")));
+            } else {
+                configArgs.add(arg); // Validated by SchedulerConfig.load
+            }
+        }
+
+        SchedulerConfig base = SchedulerConfig.load(configArgs.toArray(new String[0]));
+        List<ExperimentWorkload> workloads = new ArrayList<>();
+        for (String spec : workloadSpecs) {
+            workloads.add(ExperimentWorkload.parse(spec, base));
+        }
+        long[] seeds = seedSpec == null ? new long[]{base.getRandomSeed()} : parseSeeds(seedSpec);
+
+        ExperimentRunner runner = new ExperimentRunner(algorithms, workloads, seeds, grid(base, axes), threads);
+        System.out.println("Running " + runner.getTrials().size() + " trials on " + threads + " threads into " + out);
+        long start = System.nanoTime();
+        int failures;
+        try (CsvResultWriter writer = new CsvResultWriter(Paths.get(out))) {
+            failures = runner.run(writer);
+        }
+        System.out.printf("Done in %.1f s, %d failed%n", (System.nanoTime() - start) / 1e9, failures);
+    }
+
+    // "1,2,5" or an inclusive range "1..10"
+    private static long[] parseSeeds(String spec) {
+        int range = spec.indexOf("..");
+        if (range >= 0) {
+            long from = Long.parseLong(spec.substring(0, range));
+            long to = Long.parseLong(spec.substring(range + 2));
+            if (to < from) {
+                throw new IllegalArgumentException("Empty seed range: " + spec);
+            }
+            long[] seeds = new long[(int) (to - from + 1)];
+            for (int i = 0; i < seeds.length; i++) {
+                seeds[i] = from + i;
+            }
+            return seeds;
+        }
+        String[] parts = spec.split(",");
+        long[] seeds = new long[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            seeds[i] = Long.parseLong(parts[i].trim());
+        }
+        return seeds;
+    }
+}
@@ -0,0 +1,46 @@
+package org.fog.test.perfeval;
+
+/**
+ * One cell of an experiment matrix: an algorithm run on a workload with one config and seed.
+ * Running it builds a fresh optimizer, so trials share nothing but the read-only problem and its
+ * fitness context.
+ */
+public class ExperimentTrial {
+    private final int index;
+    private final String algorithm;
+    private final ExperimentWorkload workload;
+    private final SchedulerConfig config; // Carries the trial's seed
+
+    public ExperimentTrial(int index, String algorithm, ExperimentWorkload workload, SchedulerConfig config) {
+        this.index = index;
+        this.algorithm = algorithm;
+        this.workload = workload;
+        this.config = config;
+    }
+
+    /**
+     * Optimizes the workload. The optimizer's stream depends only on the seed, algorithm and
+     * workload, so a trial's result does not depend on which thread runs it or when.
+     */
+    public SchedulingResult run() {
+        PopulationOptimizer optimizer = PopulationOptimizer.create(algorithm,
+                config.randomStream(algorithm + "/" + workload.getName()), config);
+        return optimizer.optimize(workload.getProblem(), workload.getContext(config.getAlpha()));
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public ExperimentWorkload getWorkload() {
+        return workload;
+    }
+
+    public SchedulerConfig getConfig() {
+        return config;
+    }
+}
@@ -0,0 +1,112 @@
+package org.fog.test.perfeval;
+
+import java.util.SplittableRandom;
+
+/**
+ * A named scheduling problem for the {@link ExperimentRunner}. Problems are immutable, so one
+ * workload is shared by every trial that runs on it, and so is its fitness context.
+ */
+public class ExperimentWorkload {
+    private final String name;
+    private final SchedulingProblem problem;
+    private FitnessContext context; // Built by the first trial that needs it, then shared
+
+    public ExperimentWorkload(String name, SchedulingProblem problem) {
+        this.name = name;
+        this.problem = problem;
+    }
+
+    /**
+     * Workload from its name: "simulation1" and "simulation2" are the two scenarios of
+     * TaskSchedulingSimulation as the config describes them; "TxV", e.g. "1000x60", is T tasks
+     * with lengths uniform in 100..1500 MI on V VMs, half of them at 2000 MIPS and half at 4000,
+     * drawn from the config's seed and the name; "TxV/distribution", e.g. "10000x100/pareto", is T
+     * tasks from a {@link WorkloadGenerator} with that TaskLengthDistribution on its fog/cloud fleet
+     * of V VMs. Every trial schedules the whole workload as one batch, so T x V must fit in
+     * MAX_ETC_ENTRIES; larger streams go through the StreamingScheduler window by window.
+     */
+    public static ExperimentWorkload parse(String spec, SchedulerConfig config) {
+        switch (spec) {
+            case "simulation1":
+                return new ExperimentWorkload(spec, simulation(config.getCloudletLengths1(), config.getVmCount()));
+            case "simulation2":
+                return new ExperimentWorkload(spec, simulation(config.getCloudletLengths2(), config.getVmCount2()));
+            default:
+                int slash = spec.indexOf('/');
+                String size = slash < 0 ? spec : spec.substring(0, slash);
+                int x = size.indexOf('x');
+                int numTasks;
+                int numVMs;
+                try {
+                    numTasks = Integer.parseInt(size.substring(0, x));
+                    numVMs = Integer.parseInt(size.substring(x + 1));
+                } catch (RuntimeException e) {
+                    throw new IllegalArgumentException("Unknown workload: " + spec
+                            + " (expected simulation1, simulation2, TxV or TxV/distribution)", e);
+                }
+                FitnessContext.etcEntries(numTasks, numVMs); // Fail before generating a workload no trial could run
+                if (slash < 0) {
+                    return new ExperimentWorkload(spec, synthetic(numTasks, numVMs, RandomStreams.forName(config.getRandomSeed(), spec)));
+                }
+                WorkloadGenerator generator = new WorkloadGenerator(config.getRandomSeed(),
+                        TaskLengthDistribution.parse(spec.substring(slash + 1)), WorkloadGenerator.fogCloudFleet(numVMs));
+                return new ExperimentWorkload(spec, generator.window(0, numTasks));
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public SchedulingProblem getProblem() {
+        return problem;
+    }
+
+    /**
+     * Fitness context of the problem that weighs energy by alpha. The execution-time matrix is
+     * built once, by the first caller, and shared by every trial whatever its alpha, so concurrent
+     * trials on a large workload do not each hold a copy.
+     */
+    public synchronized FitnessContext getContext(double alpha) {
+        if (context == null) {
+            context = new FitnessContext(problem, alpha);
+        }
+        return context.withAlpha(alpha);
+    }
+
+    /**
+     * Drops the shared context, e.g. once the last trial on this workload has finished; the next
+     * getContext builds it again.
+     */
+    public synchronized void releaseContext() {
+        context = null;
+    }
+
+    // Like createVM/createVM2: the first half of the VMs at 2000 MIPS, the rest at 4000
+    private static double[] simulationMips(int numVMs) {
+        double[] mips = new double[numVMs];
+        for (int vm = 0; vm < numVMs; vm++) {
+            mips[vm] = vm < numVMs / 2 ? 2000 : 4000;
+        }
+        return mips;
+    }
+
+    private static SchedulingProblem simulation(int[] cloudletLengths, int numVMs) {
+        long[] taskLengths = new long[cloudletLengths.length];
+        for (int task = 0; task < taskLengths.length; task++) {
+            taskLengths[task] = cloudletLengths[task];
+        }
+        return new SchedulingProblem(taskLengths, simulationMips(numVMs));
+    }
+
+    private static SchedulingProblem synthetic(int numTasks, int numVMs, SplittableRandom random) {
+        if (numTasks < 1 || numVMs < 1) {
+            throw new IllegalArgumentException("Need at least one task and one VM");
+        }
+        long[] taskLengths = new long[numTasks];
+        for (int task = 0; task < numTasks; task++) {
+            taskLengths[task] = 100 + random.nextInt(1401);
+        }
+        return new SchedulingProblem(taskLengths, simulationMips(numVMs));
+    }
+}
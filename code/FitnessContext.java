@@ -0,0 +1,165 @@
+package org.fog.test.perfeval;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.Vm;
+
+import java.util.List;
+
+/**
+ * Everything the fitness function needs about one scheduling problem, computed once per run.
+ * The execution-time (ETC) matrix is stored flat in row-major order: the time of task t on VM v
+ * is executionTimes[t * numVMs + v].
+ *
+ * A context is read-only once built and can be shared between threads; the convenience methods
+ * below use a kernel per calling thread.
+ */
+public class FitnessContext {
+    final int numTasks;
+    final int numVMs;
+    final double[] executionTimes; // Flat ETC matrix, numTasks x numVMs
+    final double[] mips; // MIPS of each VM
+    final double[] mipsSquared; // MIPS^2 of each VM, used by the energy model
+    final double[] vmReadyTimes; // Seconds until each VM is free of earlier work; all 0 for a fresh batch
+    final double initialMakespan; // Latest ready time, the makespan before any task is placed
+    final double alpha; // Weight of energy against makespan in the fitness
+
+    private final ThreadLocal<FitnessKernel> kernels = ThreadLocal.withInitial(this::newKernel); // Scratch space of the convenience methods
+
+    public FitnessContext(List<? extends Cloudlet> cloudletList, List<? extends Vm> vmList) {
+        this(SchedulingProblem.fromCloudSim(cloudletList, vmList));
+    }
+
+    public FitnessContext(SchedulingProblem problem) {
+        this(problem, Constants.ALPHA);
+    }
+
+    /**
+     * Context whose fitness weighs energy by alpha and makespan by 1 - alpha.
+     */
+    public FitnessContext(SchedulingProblem problem, double alpha) {
+        this.alpha = alpha;
+        this.numTasks = problem.getNumTasks();
+        this.numVMs = problem.getNumVMs();
+        this.executionTimes = new double[etcEntries(numTasks, numVMs)];
+        this.mips = new double[numVMs];
+        this.mipsSquared = new double[numVMs];
+        this.vmReadyTimes = new double[numVMs];
+
+        for (int vmIdx = 0; vmIdx < numVMs; vmIdx++) {
+            mips[vmIdx] = problem.getVmMips(vmIdx);
+            mipsSquared[vmIdx] = Math.pow(mips[vmIdx], 2);
+            vmReadyTimes[vmIdx] = problem.getVmReadyTime(vmIdx);
+        }
+        this.initialMakespan = max(vmReadyTimes);
+
+        for (int taskIdx = 0; taskIdx < numTasks; taskIdx++) {
+            long taskLength = problem.getTaskLength(taskIdx); // Task length in MI
+            int row = taskIdx * numVMs;
+            for (int vmIdx = 0; vmIdx < numVMs; vmIdx++) {
+                executionTimes[row + vmIdx] = (double) taskLength / mips[vmIdx];
+            }
+        }
+    }
+
+    /**
+     * Size of the ETC matrix of numTasks tasks on numVMs VMs; fails if it is above MAX_ETC_ENTRIES.
+     */
+    static int etcEntries(int numTasks, int numVMs) {
+        long entries = Math.multiplyExact((long) numTasks, (long) numVMs);
+        if (entries > Constants.MAX_ETC_ENTRIES) {
+            throw new IllegalArgumentException(String.format(
+                    "%d tasks x %d VMs need an ETC matrix of %d entries, more than MAX_ETC_ENTRIES (%d);"
+                            + " schedule the workload in windows (WorkloadGenerator.window, StreamingScheduler)",
+                    numTasks, numVMs, entries, Constants.MAX_ETC_ENTRIES));
+        }
+        return (int) entries;
+    }
+
+    /**
+     * Context from an execution-time matrix that was already built, e.g. one received by an
+     * {@link EvaluationWorker}.
+     */
+    FitnessContext(int numTasks, int numVMs, double[] mips, double[] vmReadyTimes, double[] executionTimes, double alpha) {
+        this.alpha = alpha;
+        this.numTasks = numTasks;
+        this.numVMs = numVMs;
+        this.executionTimes = executionTimes;
+        this.mips = mips;
+        this.vmReadyTimes = vmReadyTimes;
+        this.initialMakespan = max(vmReadyTimes);
+        this.mipsSquared = new double[numVMs];
+        for (int vmIdx = 0; vmIdx < numVMs; vmIdx++) {
+            mipsSquared[vmIdx] = Math.pow(mips[vmIdx], 2);
+        }
+    }
+
+    /**
+     * This context with another alpha. The execution-time matrix is shared, not copied.
+     */
+    public FitnessContext withAlpha(double alpha) {
+        if (alpha == this.alpha) {
+            return this;
+        }
+        return new FitnessContext(numTasks, numVMs, mips, vmReadyTimes, executionTimes, alpha);
+    }
+
+    /**
+     * Returns a kernel with its own scratch buffers. Kernels are not thread-safe, so each thread
+     * evaluating against this context needs its own.
+     */
+    public FitnessKernel newKernel() {
+        return FitnessKernel.create(this, Constants.VECTOR_FITNESS_KERNEL);
+    }
+
+    public int getNumTasks() {
+        return numTasks;
+    }
+
+    public int getNumVMs() {
+        return numVMs;
+    }
+
+    public double getExecutionTime(int task, int vm) {
+        return executionTimes[task * numVMs + vm];
+    }
+
+    public double getMips(int vm) {
+        return mips[vm];
+    }
+
+    public double getMipsSquared(int vm) {
+        return mipsSquared[vm];
+    }
+
+    public double getVmReadyTime(int vm) {
+        return vmReadyTimes[vm];
+    }
+
+    public double getAlpha() {
+        return alpha;
+    }
+
+    public double evaluate(int[] solution) {
+        return kernels.get().evaluate(solution);
+    }
+
+    public double calculateMakespan(int[] solution) {
+        return kernels.get().calculateMakespan(solution);
+    }
+
+    public double calculateTotalEnergyConsumption(int[] solution, double makespan) {
+        return kernels.get().calculateTotalEnergyConsumption(solution, makespan);
+    }
+
+    public double calculateFlowTime(int[] solution) {
+        return kernels.get().calculateFlowTime(solution);
+    }
+
+    private static double max(double[] values) {
+        double max = 0;
+        for (double value : values) {
+            max = Math.max(max, value);
+        }
+        return max;
+    }
+}
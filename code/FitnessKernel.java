@@ -0,0 +1,296 @@
+package org.fog.test.perfeval;
+
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+
+/**
+ * Fitness evaluation against a {@link FitnessContext} using reusable scratch buffers, so scoring
+ * a solution allocates nothing. Not thread-safe: use one kernel per thread.
+ */
+public class FitnessKernel {
+    /** Individuals whose task loops are interleaved by evaluateBatch. */
+    static final int INTERLEAVE = 4;
+
+    private final int numTasks;
+    private final int numVMs;
+    private final double[] executionTimes;
+    private final double[] mipsSquared;
+    private final double[] vmReadyTimes;
+    private final double initialMakespan;
+    private final double alpha;
+
+    // Scratch buffers reused by every evaluation
+    private final double[] completionTimes; // Per-VM completion time
+    private final int[] vmTaskCounts; // Number of tasks assigned to each VM
+    private final int[] vmBucketStart; // Write cursor of each VM's bucket in tasksByVm
+    private final double[] taskTimes; // Execution time of each task on its assigned VM
+    private final double[] tasksByVm; // taskTimes grouped by VM, task order kept inside a VM
+    private final int[] decodedGenes; // Compactly encoded solutions are unpacked here first
+
+    // Scratch buffers of evaluateBatch, INTERLEAVE slices of the ones above; created on first use
+    private double[] batchCompletionTimes;
+    private int[] batchTaskCounts;
+    private double[] batchTaskTimes;
+    private int[] batchGenes;
+    private final int[] batchOffsets = new int[INTERLEAVE];
+    private final double[] batchMakespans = new double[INTERLEAVE];
+
+    FitnessKernel(FitnessContext context) {
+        this.numTasks = context.numTasks;
+        this.numVMs = context.numVMs;
+        this.executionTimes = context.executionTimes;
+        this.mipsSquared = context.mipsSquared;
+        this.vmReadyTimes = context.vmReadyTimes;
+        this.initialMakespan = context.initialMakespan;
+        this.alpha = context.alpha;
+        this.completionTimes = new double[numVMs];
+        this.vmTaskCounts = new int[numVMs];
+        this.vmBucketStart = new int[numVMs];
+        this.taskTimes = new double[numTasks];
+        this.tasksByVm = new double[numTasks];
+        this.decodedGenes = new int[numTasks];
+    }
+
+    /**
+     * A VectorFitnessKernel if vectorized is true and both the fog-scheduling-vector jar and the
+     * jdk.incubator.vector module are available, otherwise a scalar kernel.
+     */
+    static FitnessKernel create(FitnessContext context, boolean vectorized) {
+        if (vectorized && VectorKernelLoader.CONSTRUCTOR != null) {
+            try {
+                return VectorKernelLoader.CONSTRUCTOR.newInstance(context);
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Fall through to the scalar kernel
+            }
+        }
+        return new FitnessKernel(context);
+    }
+
+    public double evaluate(int[] solution) {
+        return evaluate(solution, 0);
+    }
+
+    /**
+     * Fitness of the solution stored at genes[offset .. offset + numTasks), e.g. one individual
+     * of a {@link Population}.
+     */
+    public double evaluate(int[] genes, int offset) {
+        double makespan = accumulateLoads(genes, offset);
+        double totalEnergyConsumption = accumulateEnergy(genes, offset, makespan, vmTaskCounts, 0, taskTimes, 0);
+        return Common.calculateFitness(alpha, totalEnergyConsumption, makespan);
+    }
+
+    /**
+     * Fitness of the solution stored at genes[offset ..]. int genes are read in place; other
+     * encodings are unpacked into a scratch row with one sequential pass first.
+     */
+    public double evaluate(GeneArray genes, int offset) {
+        if (genes instanceof IntGeneArray) {
+            return evaluate(((IntGeneArray) genes).array(), offset);
+        }
+        genes.decode(offset, decodedGenes, 0, numTasks);
+        return evaluate(decodedGenes, 0);
+    }
+
+    /**
+     * Scores every individual of the population's current generation into out[i].
+     */
+    public void evaluateBatch(Population population, double[] out) {
+        evaluateBatch(population, 0, population.size(), out);
+    }
+
+    /**
+     * Scores individuals from (inclusive) to to (exclusive) into out[from .. to). The task loops of
+     * INTERLEAVE individuals run together, so one read of an ETC row serves all of them and their
+     * independent loads overlap; each individual's sums keep their order, so every value is
+     * bit-for-bit what evaluate returns for it alone.
+     */
+    public void evaluateBatch(Population population, int from, int to, double[] out) {
+        GeneArray genes = population.genes();
+        int[] geneArray = genes instanceof IntGeneArray ? ((IntGeneArray) genes).array() : null; // null: decode first
+        ensureBatchCapacity(geneArray == null);
+
+        int first = from;
+        for (; first + INTERLEAVE <= to; first += INTERLEAVE) {
+            int[] blockGenes = geneArray;
+            for (int j = 0; j < INTERLEAVE; j++) {
+                if (geneArray != null) {
+                    batchOffsets[j] = population.offset(first + j);
+                } else {
+                    batchOffsets[j] = j * numTasks;
+                    genes.decode(population.offset(first + j), batchGenes, batchOffsets[j], numTasks);
+                    blockGenes = batchGenes;
+                }
+            }
+            accumulateLoadsInterleaved(blockGenes);
+            for (int j = 0; j < INTERLEAVE; j++) {
+                double makespan = batchMakespans[j];
+                double totalEnergyConsumption = accumulateEnergy(blockGenes, batchOffsets[j], makespan,
+                        batchTaskCounts, j * numVMs, batchTaskTimes, j * numTasks);
+                out[first + j] = Common.calculateFitness(alpha, totalEnergyConsumption, makespan);
+            }
+        }
+        for (; first < to; first++) { // Fewer than INTERLEAVE left
+            out[first] = evaluate(genes, population.offset(first));
+        }
+    }
+
+    public double calculateMakespan(int[] solution) {
+        return accumulateLoads(solution, 0);
+    }
+
+    public double calculateTotalEnergyConsumption(int[] solution, double makespan) {
+        accumulateLoads(solution, 0);
+        return accumulateEnergy(solution, 0, makespan, vmTaskCounts, 0, taskTimes, 0);
+    }
+
+    public double calculateFlowTime(int[] solution) {
+        double totalFlowTime = 0;
+        for (int task = 0; task < numTasks; task++) {
+            totalFlowTime += executionTimes[task * numVMs + solution[task]];
+        }
+        return totalFlowTime;
+    }
+
+    // Single pass over the tasks: per-VM completion times, per-VM task counts and the makespan.
+    // Each task's execution time is kept so the energy pass does not touch the ETC matrix again.
+    private double accumulateLoads(int[] genes, int offset) {
+        double makespan = initialMakespan;
+        for (int vm = 0; vm < numVMs; vm++) {
+            completionTimes[vm] = vmReadyTimes[vm]; // 0 unless the VM is still busy with earlier work
+            vmTaskCounts[vm] = 0;
+        }
+
+        for (int task = 0; task < numTasks; task++) {
+            int assignedVM = genes[offset + task];
+            double executionTime = executionTimes[task * numVMs + assignedVM];
+            double taskCompletionTime = completionTimes[assignedVM] + executionTime;
+            completionTimes[assignedVM] = taskCompletionTime;
+            taskTimes[task] = executionTime;
+            vmTaskCounts[assignedVM]++;
+            if (taskCompletionTime > makespan) {
+                makespan = taskCompletionTime;
+            }
+        }
+        return makespan;
+    }
+
+    // accumulateLoads for the INTERLEAVE individuals at batchOffsets, one task row at a time; the
+    // results go to slice j of the batch buffers and batchMakespans[j]. Unrolled by hand so the
+    // four independent chains stay in registers and their loads overlap.
+    private void accumulateLoadsInterleaved(int[] genes) {
+        for (int j = 0; j < INTERLEAVE; j++) {
+            System.arraycopy(vmReadyTimes, 0, batchCompletionTimes, j * numVMs, numVMs);
+        }
+        Arrays.fill(batchTaskCounts, 0);
+        int offset0 = batchOffsets[0];
+        int offset1 = batchOffsets[1];
+        int offset2 = batchOffsets[2];
+        int offset3 = batchOffsets[3];
+        int slots1 = numVMs;
+        int slots2 = 2 * numVMs;
+        int slots3 = 3 * numVMs;
+        double makespan0 = initialMakespan;
+        double makespan1 = initialMakespan;
+        double makespan2 = initialMakespan;
+        double makespan3 = initialMakespan;
+
+        for (int task = 0; task < numTasks; task++) {
+            int row = task * numVMs;
+            int vm0 = genes[offset0 + task];
+            int vm1 = genes[offset1 + task];
+            int vm2 = genes[offset2 + task];
+            int vm3 = genes[offset3 + task];
+            double time0 = executionTimes[row + vm0];
+            double time1 = executionTimes[row + vm1];
+            double time2 = executionTimes[row + vm2];
+            double time3 = executionTimes[row + vm3];
+
+            double completion0 = batchCompletionTimes[vm0] + time0;
+            batchCompletionTimes[vm0] = completion0;
+            batchTaskCounts[vm0]++;
+            double completion1 = batchCompletionTimes[slots1 + vm1] + time1;
+            batchCompletionTimes[slots1 + vm1] = completion1;
+            batchTaskCounts[slots1 + vm1]++;
+            double completion2 = batchCompletionTimes[slots2 + vm2] + time2;
+            batchCompletionTimes[slots2 + vm2] = completion2;
+            batchTaskCounts[slots2 + vm2]++;
+            double completion3 = batchCompletionTimes[slots3 + vm3] + time3;
+            batchCompletionTimes[slots3 + vm3] = completion3;
+            batchTaskCounts[slots3 + vm3]++;
+
+            batchTaskTimes[task] = time0;
+            batchTaskTimes[numTasks + task] = time1;
+            batchTaskTimes[2 * numTasks + task] = time2;
+            batchTaskTimes[3 * numTasks + task] = time3;
+            if (completion0 > makespan0) {
+                makespan0 = completion0;
+            }
+            if (completion1 > makespan1) {
+                makespan1 = completion1;
+            }
+            if (completion2 > makespan2) {
+                makespan2 = completion2;
+            }
+            if (completion3 > makespan3) {
+                makespan3 = completion3;
+            }
+        }
+        batchMakespans[0] = makespan0;
+        batchMakespans[1] = makespan1;
+        batchMakespans[2] = makespan2;
+        batchMakespans[3] = makespan3;
+    }
+
+    private void ensureBatchCapacity(boolean decodes) {
+        if (batchCompletionTimes == null) {
+            batchCompletionTimes = new double[INTERLEAVE * numVMs];
+            batchTaskCounts = new int[INTERLEAVE * numVMs];
+            batchTaskTimes = new double[INTERLEAVE * numTasks];
+        }
+        if (decodes && batchGenes == null) {
+            batchGenes = new int[INTERLEAVE * numTasks];
+        }
+    }
+
+    // Energy of a solution whose per-VM task counts and per-task execution times accumulateLoads
+    // left at counts[countBase + vm] and times[timeBase + task]. The terms are bucketed by VM with a
+    // counting sort so they are summed VM by VM, in task order within a VM, exactly like the
+    // original O(V*T) loop; this keeps the result bit-for-bit identical at O(T+V) cost.
+    private double accumulateEnergy(int[] genes, int offset, double makespan,
+                                    int[] counts, int countBase, double[] times, int timeBase) {
+        int bucketStart = 0;
+        for (int vm = 0; vm < numVMs; vm++) {
+            vmBucketStart[vm] = bucketStart;
+            bucketStart += counts[countBase + vm];
+        }
+        for (int task = 0; task < numTasks; task++) {
+            tasksByVm[vmBucketStart[genes[offset + task]]++] = times[timeBase + task];
+        }
+
+        double totalEnergyConsumption = 0;
+        int position = 0;
+        for (int vm = 0; vm < numVMs; vm++) {
+            double vmMipsSquared = mipsSquared[vm];
+            for (int end = position + counts[countBase + vm]; position < end; position++) {
+                totalEnergyConsumption += Common.calculateTaskEnergyConsumptionSquared(vmMipsSquared, tasksByVm[position], makespan);
+            }
+        }
+        return totalEnergyConsumption;
+    }
+
+    // Looks the vector kernel up by name, so this class still loads without the incubator module
+    private static final class VectorKernelLoader {
+        static final Constructor<? extends FitnessKernel> CONSTRUCTOR = load();
+
+        private static Constructor<? extends FitnessKernel> load() {
+            try {
+                Class<? extends FitnessKernel> type = Class.forName("org.fog.test.perfeval.VectorFitnessKernel")
+                        .asSubclass(FitnessKernel.class);
+                return type.getDeclaredConstructor(FitnessContext.class);
+            } catch (ReflectiveOperationException | LinkageError e) {
+                return null; // fog-scheduling-vector not on the class path, or jdk.incubator.vector not added to the module graph
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.fog.test.perfeval;
+
+/**
+ * Fixed-length array of VM indices behind a common accessor, so populations can use the smallest
+ * encoding that fits the problem. Values must lie in [0, numVMs) of the problem the array was
+ * allocated for; search operators clamp before they store.
+ */
+public interface GeneArray {
+
+    int get(int index);
+
+    void set(int index, int vm);
+
+    int length();
+
+    /**
+     * Empty array of the same encoding and value range.
+     */
+    GeneArray newArray(int length);
+
+    /**
+     * Bytes used by the backing array.
+     */
+    long sizeInBytes();
+
+    /**
+     * Number of genes per storage unit; rows that start at a multiple of it can be copied in bulk.
+     */
+    default int alignment() {
+        return 1;
+    }
+
+    /**
+     * Copies count genes starting at from into target[targetFrom ..].
+     */
+    default void decode(int from, int[] target, int targetFrom, int count) {
+        for (int i = 0; i < count; i++) {
+            target[targetFrom + i] = get(from + i);
+        }
+    }
+
+    /**
+     * Stores source[sourceFrom .. sourceFrom + count) at from.
+     */
+    default void encode(int[] source, int sourceFrom, int from, int count) {
+        for (int i = 0; i < count; i++) {
+            set(from + i, source[sourceFrom + i]);
+        }
+    }
+
+    /**
+     * Copies count genes starting at from into target, which may use another encoding.
+     */
+    default void copyTo(int from, GeneArray target, int targetFrom, int count) {
+        for (int i = 0; i < count; i++) {
+            target.set(targetFrom + i, get(from + i));
+        }
+    }
+
+    static GeneArray allocate(GeneEncoding encoding, int numVMs, int length) {
+        switch (encoding.resolve(numVMs)) {
+            case BYTE:
+                return new ByteGeneArray(length);
+            case SHORT:
+                return new ShortGeneArray(length);
+            case PACKED:
+                return new PackedGeneArray(PackedGeneArray.bitsFor(numVMs), length);
+            default:
+                return new IntGeneArray(length);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package org.fog.test.perfeval;
+
+/**
+ * How a {@link Population} stores VM indices. AUTO picks the smallest encoding that holds every
+ * VM index of the problem.
+ */
+public enum GeneEncoding {
+    AUTO,
+    INT, // 32 bits per task
+    SHORT, // 16 bits per task, up to 65536 VMs
+    BYTE, // 8 bits per task, up to 256 VMs
+    PACKED; // ceil(log2(VMs)) bits per task in a long[]
+
+    /**
+     * The concrete encoding used for numVMs VMs: this one, or for AUTO a bit-packed array when a
+     * task needs at most 4 bits (16 VMs), then byte, short and int. Fails if this encoding cannot
+     * hold the index numVMs - 1, which would otherwise be truncated silently.
+     */
+    public GeneEncoding resolve(int numVMs) {
+        if (this != AUTO) {
+            if ((this == BYTE && numVMs > 1 << 8) || (this == SHORT && numVMs > 1 << 16)) {
+                throw new IllegalArgumentException(this + " genes cannot hold the VM indices of " + numVMs + " VMs");
+            }
+            return this;
+        }
+        int bits = PackedGeneArray.bitsFor(numVMs);
+        if (bits <= 4) {
+            return PACKED;
+        } else if (bits <= 8) {
+            return BYTE;
+        } else if (bits <= 16) {
+            return SHORT;
+        }
+        return INT;
+    }
+}
@@ -0,0 +1,244 @@
+package org.fog.test.perfeval;
+
+import java.util.Arrays;
+
+/**
+ * Builds greedy schedules over the execution-time matrix of a {@link FitnessContext}. VMs with the
+ * same MIPS form a speed class, and each class keeps a min-heap of its VMs' ready times: within a
+ * class the VM that is free first is also the one where any task completes first. Placing a task
+ * therefore costs O(K + log V) for K speed classes instead of a scan over all V VMs.
+ *
+ * With Min-Min and Max-Min the best next task is always the shortest (longest) remaining one,
+ * because execution times are task length over VM MIPS; so both reduce to one sorted pass.
+ */
+class HeuristicScheduler {
+    private final FitnessContext context;
+    private final int numTasks;
+    private final int numVMs;
+    private final double[] readyTimes; // Per VM, when it finishes the tasks placed so far
+    private final int[] classOf; // Speed class of each VM
+    private final int[] classRepresentative; // One VM of each class, for its execution times
+    private final int[][] heaps; // Per class, a binary min-heap of VM indices by ready time
+    private final int numClasses;
+
+    HeuristicScheduler(FitnessContext context) {
+        this.context = context;
+        this.numTasks = context.getNumTasks();
+        this.numVMs = context.getNumVMs();
+        this.readyTimes = new double[numVMs];
+        this.classOf = new int[numVMs];
+        for (int vm = 0; vm < numVMs; vm++) {
+            readyTimes[vm] = context.getVmReadyTime(vm);
+        }
+
+        // Group VMs by MIPS
+        Integer[] byMips = new Integer[numVMs];
+        for (int vm = 0; vm < numVMs; vm++) {
+            byMips[vm] = vm;
+        }
+        Arrays.sort(byMips, (a, b) -> Double.compare(context.getMips(a), context.getMips(b)));
+        int[] classSizes = new int[numVMs];
+        int classes = 0;
+        for (int i = 0; i < numVMs; i++) {
+            if (i > 0 && context.getMips(byMips[i]) != context.getMips(byMips[i - 1])) {
+                classes++;
+            }
+            classOf[byMips[i]] = classes;
+            classSizes[classes]++;
+        }
+        this.numClasses = numVMs == 0 ? 0 : classes + 1;
+        this.classRepresentative = new int[numClasses];
+        this.heaps = new int[numClasses][];
+        for (int c = 0; c < numClasses; c++) {
+            heaps[c] = new int[classSizes[c]];
+            classSizes[c] = 0;
+        }
+        for (int vm = 0; vm < numVMs; vm++) {
+            int c = classOf[vm];
+            heaps[c][classSizes[c]++] = vm;
+            classRepresentative[c] = vm;
+        }
+        for (int[] heap : heaps) {
+            for (int i = heap.length / 2 - 1; i >= 0; i--) {
+                siftDown(heap, i);
+            }
+        }
+    }
+
+    int[] tasksInOrder() {
+        int[] order = new int[numTasks];
+        for (int task = 0; task < numTasks; task++) {
+            order[task] = task;
+        }
+        return order;
+    }
+
+    /**
+     * Task indices sorted by length, ties in submission order.
+     */
+    int[] tasksByLength(boolean longestFirst) {
+        double[] keys = new double[numTasks];
+        for (int task = 0; task < numTasks; task++) {
+            // Execution times on any one VM are proportional to the task lengths
+            keys[task] = longestFirst ? -context.getExecutionTime(task, 0) : context.getExecutionTime(task, 0);
+        }
+        return stableOrder(keys);
+    }
+
+    /**
+     * Indices sorted by ascending key, equal keys in index order. Sorts the primitive keys and
+     * places each index at the first free slot of its key's run, avoiding boxed comparisons.
+     */
+    static int[] stableOrder(double[] keys) {
+        int[] order = new int[keys.length];
+        stableOrder(keys, keys.length, new double[keys.length], new int[keys.length], order);
+        return order;
+    }
+
+    /**
+     * Like stableOrder(keys) for the first n keys, in caller-owned buffers of at least n elements,
+     * so a caller sorting again and again allocates nothing.
+     */
+    static void stableOrder(double[] keys, int n, double[] sorted, int[] used, int[] order) {
+        System.arraycopy(keys, 0, sorted, 0, n);
+        Arrays.sort(sorted, 0, n);
+        Arrays.fill(used, 0, n, 0); // Slots taken in the run starting at each position
+        for (int i = 0; i < n; i++) {
+            int runStart = lowerBound(sorted, n, keys[i]);
+            order[runStart + used[runStart]++] = i;
+        }
+    }
+
+    // First position below n whose value is not below key
+    private static int lowerBound(double[] sorted, int n, double key) {
+        int low = 0;
+        int high = n;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Places every task, in the given order, on the VM where it completes earliest.
+     */
+    int[] earliestCompletion(int[] tasks) {
+        int[] schedule = new int[numTasks];
+        for (int task : tasks) {
+            int best = -1;
+            double bestCompletion = Double.MAX_VALUE;
+            for (int c = 0; c < numClasses; c++) {
+                double completion = readyTimes[heaps[c][0]] + context.getExecutionTime(task, classRepresentative[c]);
+                if (completion < bestCompletion) {
+                    bestCompletion = completion;
+                    best = c;
+                }
+            }
+            schedule[task] = place(best, task);
+        }
+        return schedule;
+    }
+
+    /**
+     * Places every task, in the given order, on the VM that becomes free first.
+     */
+    int[] earliestReady(int[] tasks) {
+        int[] schedule = new int[numTasks];
+        for (int task : tasks) {
+            int best = 0;
+            for (int c = 1; c < numClasses; c++) {
+                if (readyTimes[heaps[c][0]] < readyTimes[heaps[best][0]]) {
+                    best = c;
+                }
+            }
+            schedule[task] = place(best, task);
+        }
+        return schedule;
+    }
+
+    /**
+     * Places every task, in the given order, on the slowest VM (the one with the smallest MIPS^2,
+     * so the least energy per task) that still finishes it by the target makespan, or on the VM
+     * where it completes earliest if none does.
+     */
+    int[] slowestWithin(int[] tasks, double targetMakespan) {
+        int[] schedule = new int[numTasks];
+        for (int task : tasks) {
+            int chosen = -1;
+            for (int c = 0; c < numClasses && chosen < 0; c++) { // Classes are numbered slowest first
+                if (readyTimes[heaps[c][0]] + context.getExecutionTime(task, classRepresentative[c]) <= targetMakespan) {
+                    chosen = c;
+                }
+            }
+            if (chosen < 0) {
+                double bestCompletion = Double.MAX_VALUE;
+                for (int c = 0; c < numClasses; c++) {
+                    double completion = readyTimes[heaps[c][0]] + context.getExecutionTime(task, classRepresentative[c]);
+                    if (completion < bestCompletion) {
+                        bestCompletion = completion;
+                        chosen = c;
+                    }
+                }
+            }
+            schedule[task] = place(chosen, task);
+        }
+        return schedule;
+    }
+
+    /**
+     * Makespan if all work could be spread over the VMs in proportion to their speed; a lower
+     * bound for any schedule.
+     */
+    double balancedMakespan() {
+        double work = 0; // In seconds on VM 0
+        for (int task = 0; task < numTasks; task++) {
+            work += context.getExecutionTime(task, 0);
+        }
+        double capacity = 0; // VM speeds relative to VM 0
+        double busy = 0;
+        for (int vm = 0; vm < numVMs; vm++) {
+            double speed = context.getMips(vm) / context.getMips(0);
+            capacity += speed;
+            busy += readyTimes[vm] * speed;
+        }
+        return (work + busy) / capacity;
+    }
+
+    // Puts the task on the first-free VM of the class and returns that VM
+    private int place(int speedClass, int task) {
+        int[] heap = heaps[speedClass];
+        int vm = heap[0];
+        readyTimes[vm] += context.getExecutionTime(task, vm);
+        siftDown(heap, 0);
+        return vm;
+    }
+
+    private void siftDown(int[] heap, int i) {
+        int vm = heap[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heap.length) {
+                break;
+            }
+            if (child + 1 < heap.length && before(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!before(heap[child], vm)) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = vm;
+    }
+
+    // Earlier ready time first, lower VM index on ties so schedules do not depend on heap layout
+    private boolean before(int a, int b) {
+        return readyTimes[a] < readyTimes[b] || (readyTimes[a] == readyTimes[b] && a < b);
+    }
+}
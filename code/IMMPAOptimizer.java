@@ -0,0 +1,183 @@
+package org.fog.test.perfeval;
+
+import java.util.SplittableRandom;
+
+import static org.fog.test.perfeval.Common.*;
+import static org.fog.test.perfeval.Constants.*;
+
+/**
+ * Improved MMPA: adds ranking-based re-initialization of stagnating predators, periodic
+ * re-initialization of half the population every PIT iterations and mutation towards the best
+ * solution.
+ */
+public class IMMPAOptimizer extends PopulationOptimizer {
+    private Population predators; // Predators (solutions)
+    private int[] newPredatorPosition; // Scratch row for the predator being updated
+    private SplittableRandom[] predatorRandoms; // One stream per predator, used by its position updates
+    private final LevyFlightSampler levyFlightSampler = LevyFlightSampler.create(LEVY_BETA, LEVY_TABLE_SIZE, config.getRandomSeed());
+    private double[] levySteps; // Levy steps of the predator being updated, one per task
+    private int[] predatorFailureCounts; // Consecutive iterations each predator was worse than the best
+
+    public IMMPAOptimizer() {
+        this(RandomStreams.forName("IMMPA"));
+    }
+
+    public IMMPAOptimizer(SplittableRandom random) {
+        super(random);
+    }
+
+    public IMMPAOptimizer(SplittableRandom random, SchedulerConfig config) {
+        super(random, config);
+    }
+
+    @Override
+    public String getName() {
+        return "IMMPA";
+    }
+
+    @Override
+    protected void initializePopulation() {
+        predators = new Population(config.getPopulationSize(), numTasks, numVMs);
+        newPredatorPosition = new int[numTasks];
+        predatorRandoms = RandomStreams.split(random, config.getPopulationSize());
+        levySteps = new double[numTasks];
+        predatorFailureCounts = new int[config.getPopulationSize()];
+
+        for (int i = 0; i < config.getPopulationSize(); i++) {
+            randomize(predators, i);
+        }
+    }
+
+    @Override
+    protected Population getPopulation() {
+        return predators;
+    }
+
+    @Override
+    protected void runIteration(int iter) {
+        // Evaluate fitness of each predator
+        evaluatePopulation(predators);
+        rankingBasedReinitializationAndMutation();
+
+        if (iter % config.getPit() == 0) {
+            // Periodic Re-initialization
+            reInitializePredators();
+        }
+
+        // Update predators based on IMMPA algorithm
+        updatePredators(predators, iter);
+
+        // Mutation towards the best solution
+        mutateTowardsBest(predators, bestSolution, config.getPr());
+    }
+
+    private void reInitializePredators() {
+        // Re-initialization logic here
+        int numToReinitialize = predators.size() / 2; // Reinitialize half of the population
+
+        for (int i = 0; i < numToReinitialize; i++) {
+            randomize(predators, i);
+        }
+    }
+
+    private void mutateTowardsBest(Population predators, int[] bestSolution, double probability) {
+        // Mutation logic here
+        for (int p = 0; p < predators.size(); p++) {
+            if (random.nextDouble() < probability) {
+                // Mutate this predator towards the best solution
+                moveHalfwayToBest(predators, p, bestSolution);
+            }
+        }
+    }
+
+    // Simple mutation: move every task half the distance towards the best solution
+    private void moveHalfwayToBest(Population predators, int p, int[] bestSolution) {
+        GeneArray genes = predators.genes();
+        int offset = predators.offset(p);
+        for (int i = 0; i < numTasks; i++) {
+            int position = genes.get(offset + i);
+            position += (bestSolution[i] - position) / 2;
+            // Ensure the mutated position is within valid bounds
+            genes.set(offset + i, clamp(position));
+        }
+    }
+
+    protected void updatePredators(Population predators, int currentIteration) {
+        double CF = calculateCF(currentIteration, config.getMaxIterations());
+        GeneArray genes = predators.genes();
+
+        for (int p = 0; p < predators.size(); p++) {
+            int offset = predators.offset(p);
+            SplittableRandom predatorRandom = predatorRandoms[p];
+
+            if (currentIteration < config.getMaxIterations() / 3) {
+                // Exploration phase
+                for (int i = 0; i < numTasks; i++) {
+                    newPredatorPosition[i] = performBrownianMotion(genes.get(offset + i), predatorRandom);
+                }
+            } else if (currentIteration < 2 * config.getMaxIterations() / 3) {
+                // Balancing phase
+                levyFlightSampler.fill(levySteps, numTasks / 2, numTasks, predatorRandom);
+                for (int i = 0; i < numTasks; i++) {
+                    if (i < numTasks / 2) {
+                        newPredatorPosition[i] = performBrownianMotion(genes.get(offset + i), predatorRandom);
+                    } else {
+                        newPredatorPosition[i] = performLevyFlight(genes.get(offset + i), levySteps[i]);
+                    }
+                }
+            } else {
+                // Exploitation phase
+                levyFlightSampler.fill(levySteps, 0, numTasks, predatorRandom);
+                for (int i = 0; i < numTasks; i++) {
+                    newPredatorPosition[i] = performLevyFlight(genes.get(offset + i), levySteps[i]);
+                }
+            }
+
+            // Apply FADS logic for each predator; random predators are read before this one is replaced
+            for (int i = 0; i < numTasks; i++) {
+                newPredatorPosition[i] = applyFADS(newPredatorPosition[i], i, CF, predators, numVMs, predatorRandom);
+            }
+
+            // Update the predator in the population with its new position
+            predators.copyFrom(newPredatorPosition, p);
+        }
+    }
+
+    private void rankingBasedReinitializationAndMutation() {
+        for (int p = 0; p < predators.size(); p++) {
+            double currentFitness = predators.getFitness(p);
+            double previousBestFitness = bestFitness;  // This should be updated to store the best fitness of each predator individually
+
+            // Count consecutive failures of the predator at this position of the population
+            if (currentFitness > previousBestFitness) {
+                predatorFailureCounts[p]++;
+            } else {
+                predatorFailureCounts[p] = 0;
+            }
+            int failureCount = predatorFailureCounts[p];
+
+            if (failureCount > config.getFi()) {
+                double r = random.nextDouble();
+                if (r < config.getPr()) {
+                    // Reinitialize the predator randomly
+                    randomize(predators, p);
+                } else {
+                    // Mutate the predator towards the best solution
+                    moveHalfwayToBest(predators, p, bestSolution);
+                }
+            }
+        }
+    }
+
+    private int performBrownianMotion(int position, SplittableRandom random) {
+        double stepSize = 0.1; // Step size, adjust as needed
+        double gaussian = random.nextGaussian(); // Generate a Gaussian random value
+        int newPosition = (int) (position + stepSize * gaussian); // New position based on Brownian motion
+        return clamp(newPosition);
+    }
+
+    private int performLevyFlight(int position, double step) {
+        int newPosition = (int) (position + step);
+        return clamp(newPosition);
+    }
+}
@@ -0,0 +1,160 @@
+package org.fog.test.perfeval;
+
+import java.util.Arrays;
+
+/**
+ * Keeps per-VM completion times and energy terms of one solution so that moving a single task
+ * to another VM can be re-scored in O(log V) instead of re-evaluating the whole assignment.
+ * The makespan is the maximum of a segment tree over the VM completion times, each the VM's ready
+ * time plus the execution time of its tasks.
+ *
+ * Fitness values agree with {@link FitnessContext#evaluate(int[])} up to floating-point rounding,
+ * so final results should still be scored with the full evaluation.
+ */
+public class IncrementalEvaluator {
+    private final FitnessContext context;
+    private final int numVMs;
+    private final int leafOffset; // Index of the first leaf in maxTree
+    private final double[] maxTree; // Segment tree of VM completion times, root at index 1
+    private final double[] vmLoads; // Execution time of each VM's tasks, without its ready time
+    private final int[] vmTaskCounts;
+    private final int[] assignment;
+
+    // Sum of MIPS^2 over all tasks' VMs: every task burns K * MIPS^2 * S for the whole makespan
+    // (active plus idle time), so the total energy is that sum scaled by the makespan.
+    private double mipsSquaredSum;
+
+    // Undo log of moves applied since the last commit
+    private int[] undoTasks = new int[16];
+    private int[] undoVms = new int[16];
+    private int undoSize;
+
+    public IncrementalEvaluator(FitnessContext context) {
+        this.context = context;
+        this.numVMs = context.getNumVMs();
+        int size = 1;
+        while (size < numVMs) {
+            size <<= 1;
+        }
+        this.leafOffset = size;
+        this.maxTree = new double[2 * size];
+        this.vmLoads = new double[numVMs];
+        this.vmTaskCounts = new int[numVMs];
+        this.assignment = new int[context.getNumTasks()];
+    }
+
+    /**
+     * Loads a solution and rebuilds all per-VM state from scratch; also clears the undo log.
+     */
+    public void reset(int[] solution) {
+        System.arraycopy(solution, 0, assignment, 0, assignment.length);
+        Arrays.fill(maxTree, 0);
+        Arrays.fill(vmLoads, 0);
+        Arrays.fill(vmTaskCounts, 0);
+        mipsSquaredSum = 0;
+        for (int task = 0; task < assignment.length; task++) {
+            int vm = assignment[task];
+            vmLoads[vm] += context.getExecutionTime(task, vm);
+            vmTaskCounts[vm]++;
+            mipsSquaredSum += context.getMipsSquared(vm);
+        }
+        for (int vm = 0; vm < numVMs; vm++) {
+            maxTree[leafOffset + vm] = context.getVmReadyTime(vm) + vmLoads[vm];
+        }
+        for (int node = leafOffset - 1; node > 0; node--) {
+            maxTree[node] = Math.max(maxTree[2 * node], maxTree[2 * node + 1]);
+        }
+        undoSize = 0;
+    }
+
+    /**
+     * Moves a task from one VM to another and returns the fitness of the resulting solution.
+     */
+    public double move(int task, int fromVm, int toVm) {
+        if (assignment[task] != fromVm) {
+            throw new IllegalArgumentException("Task " + task + " is not assigned to VM " + fromVm);
+        }
+        if (undoSize == undoTasks.length) {
+            undoTasks = Arrays.copyOf(undoTasks, undoSize * 2);
+            undoVms = Arrays.copyOf(undoVms, undoSize * 2);
+        }
+        undoTasks[undoSize] = task;
+        undoVms[undoSize] = fromVm;
+        undoSize++;
+        applyMove(task, fromVm, toVm);
+        return fitness();
+    }
+
+    /**
+     * Reverts the most recent move that has not been committed. Returns false if there is none.
+     */
+    public boolean undo() {
+        if (undoSize == 0) {
+            return false;
+        }
+        undoSize--;
+        int task = undoTasks[undoSize];
+        applyMove(task, assignment[task], undoVms[undoSize]);
+        return true;
+    }
+
+    /**
+     * Accepts every move made so far; they can no longer be undone.
+     */
+    public void commit() {
+        undoSize = 0;
+    }
+
+    public double getMakespan() {
+        return maxTree[1];
+    }
+
+    public double getTotalEnergyConsumption() {
+        return Common.calculateTaskEnergyConsumptionSquared(mipsSquaredSum, 0, getMakespan());
+    }
+
+    public double fitness() {
+        return Common.calculateFitness(context.getAlpha(), getTotalEnergyConsumption(), getMakespan());
+    }
+
+    public int getNumVMs() {
+        return numVMs;
+    }
+
+    public int getAssignedVm(int task) {
+        return assignment[task];
+    }
+
+    public double getCompletionTime(int vm) {
+        return maxTree[leafOffset + vm];
+    }
+
+    public int getTaskCount(int vm) {
+        return vmTaskCounts[vm];
+    }
+
+    /**
+     * Copies the current assignment into the given array.
+     */
+    public void copyAssignment(int[] target) {
+        System.arraycopy(assignment, 0, target, 0, assignment.length);
+    }
+
+    private void applyMove(int task, int fromVm, int toVm) {
+        assignment[task] = toVm;
+        vmTaskCounts[fromVm]--;
+        vmTaskCounts[toVm]++;
+        mipsSquaredSum += context.getMipsSquared(toVm) - context.getMipsSquared(fromVm);
+        updateLoad(fromVm, -context.getExecutionTime(task, fromVm));
+        updateLoad(toVm, context.getExecutionTime(task, toVm));
+    }
+
+    private void updateLoad(int vm, double delta) {
+        vmLoads[vm] = vmTaskCounts[vm] == 0 ? 0 : vmLoads[vm] + delta; // Snap empty VMs back to exactly 0
+        int node = leafOffset + vm;
+        maxTree[node] = context.getVmReadyTime(vm) + vmLoads[vm];
+        for (node >>= 1; node > 0; node >>= 1) {
+            maxTree[node] = Math.max(maxTree[2 * node], maxTree[2 * node + 1]);
+        }
+    }
+}
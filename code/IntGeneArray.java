@@ -0,0 +1,63 @@
+package org.fog.test.perfeval;
+
+/**
+ * One int per gene; the fitness kernel reads the backing array directly.
+ */
+public class IntGeneArray implements GeneArray {
+    private final int[] genes;
+
+    public IntGeneArray(int length) {
+        this.genes = new int[length];
+    }
+
+    /**
+     * The backing array, for callers that want to skip the accessor.
+     */
+    public int[] array() {
+        return genes;
+    }
+
+    @Override
+    public int get(int index) {
+        return genes[index];
+    }
+
+    @Override
+    public void set(int index, int vm) {
+        genes[index] = vm;
+    }
+
+    @Override
+    public int length() {
+        return genes.length;
+    }
+
+    @Override
+    public GeneArray newArray(int length) {
+        return new IntGeneArray(length);
+    }
+
+    @Override
+    public long sizeInBytes() {
+        return 4L * genes.length;
+    }
+
+    @Override
+    public void decode(int from, int[] target, int targetFrom, int count) {
+        System.arraycopy(genes, from, target, targetFrom, count);
+    }
+
+    @Override
+    public void encode(int[] source, int sourceFrom, int from, int count) {
+        System.arraycopy(source, sourceFrom, genes, from, count);
+    }
+
+    @Override
+    public void copyTo(int from, GeneArray target, int targetFrom, int count) {
+        if (target instanceof IntGeneArray) {
+            System.arraycopy(genes, from, ((IntGeneArray) target).genes, targetFrom, count);
+        } else {
+            target.encode(genes, from, targetFrom, count);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package org.fog.test.perfeval;
+
+/**
+ * Broker that schedules its cloudlets with an {@link IslandModelOptimizer} of the given algorithm
+ * (MPA, MMPA, IMMPA, ...), seeded from the broker name, and prints each island's convergence.
+ */
+public class IslandBroker extends OptimizerBroker {
+
+    public IslandBroker(String name, String algorithm) throws Exception {
+        super(name, new IslandModelOptimizer(algorithm, RandomStreams.forName(name)));
+    }
+
+    public IslandBroker(String name, String algorithm, SchedulerConfig config) throws Exception {
+        super(name, new IslandModelOptimizer(algorithm, config.randomStream(name), config));
+    }
+
+    @Override
+    protected void submitCloudlets() {
+        super.submitCloudlets();
+        for (IslandReport report : ((IslandModelOptimizer) getOptimizer()).getIslandReports()) {
+            System.out.println(report);
+        }
+    }
+}
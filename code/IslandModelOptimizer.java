@@ -0,0 +1,191 @@
+package org.fog.test.perfeval;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static org.fog.test.perfeval.Constants.*;
+
+/**
+ * Island model: runs several independent populations of one algorithm on their own threads and
+ * every migration interval sends the elite of each island to the next one on a ring. All islands
+ * share one read-only {@link FitnessContext}.
+ *
+ * Each island has a lock-free inbox that its predecessor overwrites with its latest migrants. With
+ * synchronous migration the islands meet at a barrier before and after reading their inbox, so a
+ * run is reproducible from the seed; with asynchronous migration no island ever waits and migrants
+ * that arrive late are taken at the next migration, or replaced by newer ones.
+ */
+public class IslandModelOptimizer implements SchedulingOptimizer {
+    private final String algorithm;
+    private final int migrationInterval;
+    private final int migrantCount;
+    private final boolean synchronous;
+    private final SchedulerConfig config;
+    private final PopulationOptimizer[] islands;
+    private volatile List<IslandReport> islandReports = new ArrayList<>();
+
+    public IslandModelOptimizer(String algorithm, SplittableRandom random) {
+        this(algorithm, random, SchedulerConfig.defaults());
+    }
+
+    public IslandModelOptimizer(String algorithm, SplittableRandom random, SchedulerConfig config) {
+        this(algorithm, ISLANDS, MIGRATION_INTERVAL, MIGRANTS, SYNCHRONOUS_MIGRATION, random, config);
+    }
+
+    public IslandModelOptimizer(String algorithm, int islandCount, int migrationInterval, int migrantCount,
+                                boolean synchronous, SplittableRandom random) {
+        this(algorithm, islandCount, migrationInterval, migrantCount, synchronous, random, SchedulerConfig.defaults());
+    }
+
+    /**
+     * Islands running the algorithm with the given config; its population size is per island.
+     */
+    public IslandModelOptimizer(String algorithm, int islandCount, int migrationInterval, int migrantCount,
+                                boolean synchronous, SplittableRandom random, SchedulerConfig config) {
+        if (islandCount < 1 || migrationInterval < 1 || migrantCount < 0) {
+            throw new IllegalArgumentException("Need at least one island and a positive migration interval");
+        }
+        this.algorithm = algorithm;
+        this.migrationInterval = migrationInterval;
+        this.migrantCount = migrantCount;
+        this.synchronous = synchronous;
+        this.config = config;
+        this.islands = new PopulationOptimizer[islandCount];
+        SplittableRandom[] streams = RandomStreams.split(random, islandCount);
+        for (int i = 0; i < islandCount; i++) {
+            islands[i] = PopulationOptimizer.create(algorithm, streams[i], config);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "Island-" + algorithm;
+    }
+
+    @Override
+    public SchedulingResult optimize(SchedulingProblem problem) {
+        long start = System.nanoTime();
+        FitnessContext context = new FitnessContext(problem, config.getAlpha());
+        AtomicReferenceArray<Migrants> inboxes = new AtomicReferenceArray<>(islands.length);
+        Phaser phaser = synchronous ? new Phaser(islands.length) : null;
+
+        ExecutorService pool = Executors.newFixedThreadPool(islands.length);
+        List<IslandReport> reports = new ArrayList<>();
+        try {
+            List<Future<IslandReport>> futures = new ArrayList<>();
+            for (int i = 0; i < islands.length; i++) {
+                int island = i;
+                futures.add(pool.submit(() -> runIsland(island, context, inboxes, phaser)));
+            }
+            for (Future<IslandReport> future : futures) {
+                reports.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Island model interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Island failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        islandReports = reports;
+
+        // The answer is the best island's; the effort is the sum over all islands
+        SchedulingResult best = null;
+        long evaluations = 0;
+        long cacheHits = 0;
+        int iterations = 0;
+        for (IslandReport report : reports) {
+            SchedulingResult result = report.getResult();
+            if (result == null) {
+                continue;
+            }
+            evaluations += result.getEvaluations();
+            cacheHits += result.getCacheHits();
+            iterations = Math.max(iterations, result.getIterations());
+            if (best == null || result.getFitness() < best.getFitness()) {
+                best = result;
+            }
+        }
+        if (best == null) {
+            return null;
+        }
+        return SchedulingResult.of(getName(), best.getAssignment(), context, iterations, evaluations,
+                System.nanoTime() - start, best.getStopReason(), cacheHits);
+    }
+
+    private IslandReport runIsland(int island, FitnessContext context, AtomicReferenceArray<Migrants> inboxes, Phaser phaser) {
+        PopulationOptimizer optimizer = islands[island];
+        int maxIterations = config.getMaxIterations();
+        int next = (island + 1) % islands.length;
+        double[] bestPerEpoch = new double[(maxIterations + migrationInterval - 1) / migrationInterval];
+        int epochs = 0;
+        int received = 0;
+        int accepted = 0;
+        try {
+            optimizer.initialize(context);
+            int iter = 0;
+            boolean stopped = false;
+            while (iter < maxIterations && !stopped) {
+                int epochEnd = Math.min(iter + migrationInterval, maxIterations);
+                while (iter < epochEnd && !stopped) {
+                    stopped = optimizer.iterate(iter++);
+                }
+                bestPerEpoch[epochs++] = optimizer.getBestFitness();
+                if (stopped || iter >= maxIterations || islands.length == 1) {
+                    break; // No one left to learn from this island's elite
+                }
+
+                inboxes.set(next, optimizer.emigrate(island, migrantCount));
+                if (phaser != null) {
+                    phaser.arriveAndAwaitAdvance(); // Every inbox holds this epoch's migrants
+                }
+                Migrants migrants = inboxes.getAndSet(island, null);
+                if (migrants != null) {
+                    received += migrants.size();
+                    accepted += optimizer.immigrate(migrants);
+                }
+                if (phaser != null) {
+                    phaser.arriveAndAwaitAdvance(); // Every inbox was read before it is overwritten again
+                }
+            }
+        } finally {
+            if (phaser != null) {
+                phaser.arriveAndDeregister(); // Islands that stopped early no longer hold up the others
+            }
+        }
+        SchedulingResult result = optimizer.finish();
+        return new IslandReport(island, Arrays.copyOf(bestPerEpoch, epochs), optimizer.getIterations(),
+                optimizer.getEvaluations(), received, accepted, result);
+    }
+
+    /**
+     * Best solution over all islands so far. Safe to call from any thread while optimize() runs.
+     */
+    @Override
+    public SolutionSnapshot getBestSnapshot() {
+        SolutionSnapshot best = null;
+        for (PopulationOptimizer island : islands) {
+            SolutionSnapshot snapshot = island.getBestSnapshot();
+            if (snapshot != null && (best == null || snapshot.getFitness() < best.getFitness())) {
+                best = snapshot;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Per-island convergence of the last run, in island order.
+     */
+    public List<IslandReport> getIslandReports() {
+        return islandReports;
+    }
+}
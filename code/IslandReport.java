@@ -0,0 +1,69 @@
+package org.fog.test.perfeval;
+
+import java.util.Arrays;
+
+/**
+ * Convergence of one island of an {@link IslandModelOptimizer} run: its best fitness after every
+ * migration epoch, plus how many migrants it received and accepted.
+ */
+public class IslandReport {
+    private final int island;
+    private final double[] bestFitnessPerEpoch;
+    private final int iterations;
+    private final long evaluations;
+    private final int migrantsReceived;
+    private final int migrantsAccepted;
+    private final SchedulingResult result;
+
+    IslandReport(int island, double[] bestFitnessPerEpoch, int iterations, long evaluations,
+                 int migrantsReceived, int migrantsAccepted, SchedulingResult result) {
+        this.island = island;
+        this.bestFitnessPerEpoch = bestFitnessPerEpoch;
+        this.iterations = iterations;
+        this.evaluations = evaluations;
+        this.migrantsReceived = migrantsReceived;
+        this.migrantsAccepted = migrantsAccepted;
+        this.result = result;
+    }
+
+    public int getIsland() {
+        return island;
+    }
+
+    /**
+     * Best fitness of the island at the end of each migration epoch; the caller gets its own copy.
+     */
+    public double[] getBestFitnessPerEpoch() {
+        return bestFitnessPerEpoch.clone();
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    public int getMigrantsReceived() {
+        return migrantsReceived;
+    }
+
+    public int getMigrantsAccepted() {
+        return migrantsAccepted;
+    }
+
+    /**
+     * The island's own final result, or null if it found no solution.
+     */
+    public SchedulingResult getResult() {
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "Island " + island + ": " + iterations + " iterations, " + evaluations + " evaluations, "
+                + migrantsAccepted + "/" + migrantsReceived + " migrants accepted, best per epoch "
+                + Arrays.toString(bestFitnessPerEpoch);
+    }
+}
@@ -0,0 +1,102 @@
+package org.fog.test.perfeval;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Draws Levy-flight steps with Mantegna's algorithm: step = u / |v|^(1/beta), with
+ * u ~ N(0, sigma^2) and v ~ N(0, 1). Sigma only depends on beta, so it is computed once per beta
+ * and shared by every sampler instead of being re-derived from Gamma functions for each step.
+ *
+ * A sampler can optionally be tabulated: a fixed table of steps is drawn up front and sampling
+ * just picks a random entry, which trades some distribution fidelity for speed.
+ */
+public class LevyFlightSampler {
+    private static final Map<Double, Double> SIGMA_CACHE = new ConcurrentHashMap<>();
+
+    private final double beta;
+    private final double sigma;
+    private final double inverseBeta;
+    private final double[] table; // Pre-drawn steps, or null for exact sampling
+
+    public LevyFlightSampler(double beta) {
+        this.beta = beta;
+        this.sigma = sigma(beta);
+        this.inverseBeta = 1 / beta;
+        this.table = null;
+    }
+
+    private LevyFlightSampler(double beta, double[] table) {
+        this.beta = beta;
+        this.sigma = sigma(beta);
+        this.inverseBeta = 1 / beta;
+        this.table = table;
+    }
+
+    /**
+     * Sampler that picks steps from a table of tableSize steps drawn from the given seed.
+     */
+    public static LevyFlightSampler tabulated(double beta, int tableSize, long seed) {
+        LevyFlightSampler exact = new LevyFlightSampler(beta);
+        double[] table = new double[tableSize];
+        exact.fill(table, new SplittableRandom(seed));
+        return new LevyFlightSampler(beta, table);
+    }
+
+    /**
+     * Exact sampler when tableSize is 0, tabulated otherwise.
+     */
+    public static LevyFlightSampler create(double beta, int tableSize, long seed) {
+        return tableSize > 0 ? tabulated(beta, tableSize, seed) : new LevyFlightSampler(beta);
+    }
+
+    /**
+     * Mantegna's sigma for the given beta, computed once and cached.
+     */
+    public static double sigma(double beta) {
+        return SIGMA_CACHE.computeIfAbsent(beta, b -> Math.pow((Common.gamma(1 + b) * Math.sin(Math.PI * b / 2)) / (Common.gamma((1 + b) / 2) * b * Math.pow(2, (b - 1) / 2)), 1 / b));
+    }
+
+    public double getBeta() {
+        return beta;
+    }
+
+    public double sample(SplittableRandom random) {
+        if (table != null) {
+            return table[random.nextInt(table.length)];
+        }
+        double u = random.nextGaussian() * sigma;
+        double v = random.nextGaussian();
+        return u / denominator(v);
+    }
+
+    public void fill(double[] steps, SplittableRandom random) {
+        fill(steps, 0, steps.length, random);
+    }
+
+    /**
+     * Fills steps[from..to) with independent Levy steps.
+     */
+    public void fill(double[] steps, int from, int to, SplittableRandom random) {
+        if (table != null) {
+            for (int i = from; i < to; i++) {
+                steps[i] = table[random.nextInt(table.length)];
+            }
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            double u = random.nextGaussian() * sigma;
+            double v = random.nextGaussian();
+            steps[i] = u / denominator(v);
+        }
+    }
+
+    // |v|^(1/beta); the default beta of 1.5 gets cbrt(v^2), which is much cheaper than pow
+    private double denominator(double v) {
+        if (beta == 1.5) {
+            return Math.cbrt(v * v);
+        }
+        return Math.pow(Math.abs(v), inverseBeta);
+    }
+}
@@ -0,0 +1,58 @@
+package org.fog.test.perfeval;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * In-process {@link EvaluationChannel}: two queues between threads of the same JVM. Used for
+ * tests and to run the distributed evaluator without a cluster.
+ */
+public class LoopbackChannel implements EvaluationChannel {
+    private static final byte[] CLOSED = new byte[0]; // Marks the end of the stream
+
+    private final BlockingQueue<byte[]> inbound;
+    private final BlockingQueue<byte[]> outbound;
+
+    private LoopbackChannel(BlockingQueue<byte[]> inbound, BlockingQueue<byte[]> outbound) {
+        this.inbound = inbound;
+        this.outbound = outbound;
+    }
+
+    /**
+     * Two connected ends: what one sends, the other receives.
+     */
+    public static LoopbackChannel[] pair() {
+        BlockingQueue<byte[]> a = new LinkedBlockingQueue<>();
+        BlockingQueue<byte[]> b = new LinkedBlockingQueue<>();
+        return new LoopbackChannel[]{new LoopbackChannel(a, b), new LoopbackChannel(b, a)};
+    }
+
+    @Override
+    public void send(byte[] message) {
+        outbound.add(message);
+    }
+
+    @Override
+    public byte[] receive() throws IOException {
+        byte[] message;
+        try {
+            message = inbound.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a message");
+        }
+        if (message == CLOSED) {
+            inbound.add(CLOSED); // Later receive() calls see the end of the stream too
+            throw new EOFException("Channel closed");
+        }
+        return message;
+    }
+
+    @Override
+    public void close() {
+        outbound.add(CLOSED);
+    }
+}
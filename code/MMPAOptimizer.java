@@ -0,0 +1,113 @@
+package org.fog.test.perfeval;
+
+import java.util.SplittableRandom;
+
+import static org.fog.test.perfeval.Common.*;
+import static org.fog.test.perfeval.Constants.*;
+
+/**
+ * Modified MPA: every predator moves from its last position into a fresh copy, so all moves of an
+ * iteration are computed from the same population snapshot.
+ */
+public class MMPAOptimizer extends PopulationOptimizer {
+    private Population predators; // Predators (solutions); new positions go to the next generation
+    private SplittableRandom[] predatorRandoms; // One stream per predator, used by its position updates
+    private final LevyFlightSampler levyFlightSampler = LevyFlightSampler.create(LEVY_BETA, LEVY_TABLE_SIZE, config.getRandomSeed());
+    private double[] levySteps; // Levy steps of the predator being updated, one per task
+
+    public MMPAOptimizer() {
+        this(RandomStreams.forName("MMPA"));
+    }
+
+    public MMPAOptimizer(SplittableRandom random) {
+        super(random);
+    }
+
+    public MMPAOptimizer(SplittableRandom random, SchedulerConfig config) {
+        super(random, config);
+    }
+
+    @Override
+    public String getName() {
+        return "MMPA";
+    }
+
+    @Override
+    protected void initializePopulation() {
+        predators = new Population(config.getPopulationSize(), numTasks, numVMs);
+        predatorRandoms = RandomStreams.split(random, config.getPopulationSize());
+        levySteps = new double[numTasks];
+
+        for (int i = 0; i < config.getPopulationSize(); i++) {
+            randomize(predators, i);
+        }
+    }
+
+    @Override
+    protected Population getPopulation() {
+        return predators;
+    }
+
+    @Override
+    protected void runIteration(int iter) {
+        // Evaluate fitness of each predator
+        evaluatePopulation(predators);
+
+        // Update predators based on MMPA algorithm (using last updated positions)
+        updatePredators(predators, iter);
+    }
+
+    protected void updatePredators(Population predators, int currentIteration) {
+        double CF = calculateCF(currentIteration, config.getMaxIterations());
+        GeneArray genes = predators.genes();
+        // New positions are built in the next generation so every update reads the old positions
+        GeneArray newGenes = predators.nextGenes();
+
+        for (int p = 0; p < predators.size(); p++) {
+            int offset = predators.offset(p);
+            SplittableRandom predatorRandom = predatorRandoms[p];
+
+            if (currentIteration < config.getMaxIterations() / 3) {
+                // Exploration phase
+                for (int i = 0; i < numTasks; i++) {
+                    newGenes.set(offset + i, performBrownianMotion(genes.get(offset + i), predatorRandom));
+                }
+            } else if (currentIteration < 2 * config.getMaxIterations() / 3) {
+                // Balancing phase
+                levyFlightSampler.fill(levySteps, numTasks / 2, numTasks, predatorRandom);
+                for (int i = 0; i < numTasks; i++) {
+                    if (i < numTasks / 2) {
+                        newGenes.set(offset + i, performBrownianMotion(genes.get(offset + i), predatorRandom));
+                    } else {
+                        newGenes.set(offset + i, performLevyFlight(genes.get(offset + i), levySteps[i]));
+                    }
+                }
+            } else {
+                // Exploitation phase
+                levyFlightSampler.fill(levySteps, 0, numTasks, predatorRandom);
+                for (int i = 0; i < numTasks; i++) {
+                    newGenes.set(offset + i, performLevyFlight(genes.get(offset + i), levySteps[i]));
+                }
+            }
+
+            for (int i = 0; i < numTasks; i++) {
+                newGenes.set(offset + i, applyFADS(newGenes.get(offset + i), i, CF, predators, numVMs, predatorRandom));
+            }
+        }
+
+        // Update the positions of predators with the new positions
+        predators.swap();
+    }
+
+    private int performBrownianMotion(int position, SplittableRandom random) {
+        double stepSize = 0.1; // Step size, adjust as needed
+        double gaussian = random.nextGaussian(); // Generate a Gaussian random value
+        int newPosition = (int) (position + stepSize * gaussian); // New position based on Brownian motion
+        return clamp(newPosition);
+    }
+
+    private int performLevyFlight(int position, double step) {
+        int newPosition = (int) (position + step);
+        return clamp(newPosition);
+    }
+}
@@ -0,0 +1,33 @@
+package org.fog.test.perfeval;
+
+/**
+ * Elite individuals sent from one island to another: copies of their assignments and fitness,
+ * best first. Immutable once created, so it can be handed between threads.
+ */
+public class Migrants {
+    private final int source; // Island that sent them
+    private final int[][] solutions;
+    private final double[] fitnesses;
+
+    Migrants(int source, int[][] solutions, double[] fitnesses) {
+        this.source = source;
+        this.solutions = solutions;
+        this.fitnesses = fitnesses;
+    }
+
+    public int getSource() {
+        return source;
+    }
+
+    public int size() {
+        return solutions.length;
+    }
+
+    int[] getSolution(int i) {
+        return solutions[i];
+    }
+
+    public double getFitness(int i) {
+        return fitnesses[i];
+    }
+}
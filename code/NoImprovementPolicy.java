@@ -0,0 +1,33 @@
+package org.fog.test.perfeval;
+
+/**
+ * Stops a search whose best fitness has not improved for a fixed number of iterations.
+ */
+public class NoImprovementPolicy implements StoppingPolicy {
+    private final int iterations;
+    private double bestFitness;
+    private int lastImprovement; // Iteration count at which bestFitness last improved
+
+    public NoImprovementPolicy(int iterations) {
+        if (iterations <= 0) {
+            throw new IllegalArgumentException("iterations must be positive: " + iterations);
+        }
+        this.iterations = iterations;
+        reset();
+    }
+
+    @Override
+    public StopReason check(SearchProgress progress) {
+        if (progress.getBestFitness() < bestFitness) {
+            bestFitness = progress.getBestFitness();
+            lastImprovement = progress.getIterations();
+        }
+        return progress.getIterations() - lastImprovement >= iterations ? StopReason.NO_IMPROVEMENT : null;
+    }
+
+    @Override
+    public void reset() {
+        bestFitness = Double.MAX_VALUE;
+        lastImprovement = 0;
+    }
+}
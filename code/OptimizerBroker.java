@@ -0,0 +1,61 @@
+package org.fog.test.perfeval;
+
+import org.cloudbus.cloudsim.DatacenterBroker;
+
+import static org.fog.test.perfeval.Common.*;
+
+/**
+ * CloudSim adapter for a {@link SchedulingOptimizer}: when the cloudlets are submitted, the broker
+ * hands the problem over the VMs the datacenters actually created to the optimizer, binds every
+ * cloudlet to the VM it picked and reports the result.
+ */
+public class OptimizerBroker extends DatacenterBroker {
+    private final SchedulingOptimizer optimizer;
+    private SchedulingResult result;
+
+    public OptimizerBroker(String name, SchedulingOptimizer optimizer) throws Exception {
+        super(name);
+        this.optimizer = optimizer;
+    }
+
+    @Override
+    protected void submitCloudlets() {
+        result = optimizer.optimize(SchedulingProblem.fromCloudSim(cloudletList, getVmsCreatedList()));
+
+        // Submit cloudlets based on the best solution found
+        if (result != null) {
+            submitCloudletsBasedOnSolution(result);
+        }
+    }
+
+    public SchedulingOptimizer getOptimizer() {
+        return optimizer;
+    }
+
+    /**
+     * Best solution found so far by the running optimizer; safe to call from another thread.
+     */
+    public SolutionSnapshot getBestSnapshot() {
+        return optimizer.getBestSnapshot();
+    }
+
+    /**
+     * Result of the last optimization, or null before the cloudlets were submitted.
+     */
+    public SchedulingResult getResult() {
+        return result;
+    }
+
+    private void submitCloudletsBasedOnSolution(SchedulingResult result) {
+        // Map each cloudlet to a VM based on the solution and submit them
+        for (int i = 0; i < cloudletList.size(); i++) {
+            int vmId = getVmsCreatedList().get(result.getAssignedVm(i)).getId();
+            bindCloudletToVm(cloudletList.get(i).getCloudletId(), vmId);
+        }
+        reportResults(result);
+        if (optimizer instanceof PopulationOptimizer && ((PopulationOptimizer) optimizer).getDistributionMetrics() != null) {
+            System.out.println(((PopulationOptimizer) optimizer).getDistributionMetrics());
+        }
+        super.submitCloudlets();
+    }
+}
@@ -0,0 +1,139 @@
+package org.fog.test.perfeval;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.CloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.Datacenter;
+import org.cloudbus.cloudsim.DatacenterCharacteristics;
+import org.cloudbus.cloudsim.Host;
+import org.cloudbus.cloudsim.Pe;
+import org.cloudbus.cloudsim.Storage;
+import org.cloudbus.cloudsim.UtilizationModelFull;
+import org.cloudbus.cloudsim.Vm;
+import org.cloudbus.cloudsim.VmAllocationPolicySimple;
+import org.cloudbus.cloudsim.VmSchedulerTimeShared;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.provisioners.BwProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.RamProvisionerSimple;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * The TaskSchedulingSimulation scenario for any algorithm and workload: an {@link OptimizerBroker},
+ * the workload's VMs and cloudlets, and a datacenter with one host sized for each VM. The run fails
+ * if a VM could not be created or a cloudlet was not submitted or did not come back.
+ *
+ * Arguments: --algorithm=MPA (default), --workload=simulation1 (default; see ExperimentWorkload.parse),
+ * --broker=name (default algorithm + "_Broker"); anything else configures the run as in
+ * SchedulerConfig.load.
+ */
+public class OptimizerScenario implements SimulationScenario {
+    private static final int VM_RAM = 512; // MB
+    private static final long VM_BW = 1000;
+    private static final long VM_SIZE = 10000; // image size (MB)
+
+    @Override
+    public SimulationReport run(String[] args) throws Exception {
+        String algorithm = "MPA";
+        String workloadSpec = "simulation1";
+        String brokerName = null;
+        List<String> configArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--algorithm=")) {
+                algorithm = arg.substring("--algorithm=".length());
+            } else if (arg.startsWith("--workload=")) {
+                workloadSpec = arg.substring("--workload=".length());
+            } else if (arg.startsWith("--broker=")) {
+                brokerName = arg.substring("--broker=".length());
+            } else {
+                configArgs.add(arg);
+            }
+        }
+        SchedulerConfig config = SchedulerConfig.load(configArgs.toArray(new String[0]));
+        ExperimentWorkload workload = ExperimentWorkload.parse(workloadSpec, config);
+        if (brokerName == null) {
+            brokerName = algorithm + "_Broker";
+        }
+
+        long start = System.nanoTime();
+        CloudSim.init(1, Calendar.getInstance(), false);
+        createDatacenter(workload.getProblem());
+        OptimizerBroker broker = new OptimizerBroker(brokerName,
+                PopulationOptimizer.create(algorithm, config.randomStream(brokerName), config));
+        broker.submitVmList(createVms(workload.getProblem(), broker.getId()));
+        broker.submitCloudletList(createCloudlets(workload.getProblem(), broker.getId()));
+
+        CloudSim.startSimulation();
+        CloudSim.stopSimulation();
+
+        SchedulingProblem problem = workload.getProblem();
+        int vmsCreated = broker.getVmsCreatedList().size();
+        int cloudletsSubmitted = broker.getCloudletSubmittedList().size();
+        int cloudletsReceived = broker.getCloudletReceivedList().size();
+        if (vmsCreated < problem.getNumVMs() || cloudletsSubmitted < problem.getNumTasks()
+                || cloudletsReceived < cloudletsSubmitted) {
+            throw new IllegalStateException(String.format(
+                    "%s on %s: created %d of %d VMs, submitted %d of %d cloudlets, received %d",
+                    algorithm, workload.getName(), vmsCreated, problem.getNumVMs(), cloudletsSubmitted,
+                    problem.getNumTasks(), cloudletsReceived));
+        }
+        return new SimulationReport(algorithm + "/" + workload.getName(), vmsCreated, cloudletsSubmitted,
+                cloudletsReceived, CloudSim.clock(), System.nanoTime() - start, broker.getResult());
+    }
+
+    /**
+     * One host per VM with exactly that VM's PEs, MIPS, RAM, bandwidth and storage; VM i is placed on host i.
+     */
+    private static Datacenter createDatacenter(SchedulingProblem problem) throws Exception {
+        List<Host> hostList = new ArrayList<Host>(problem.getNumVMs());
+        for (int vmId = 0; vmId < problem.getNumVMs(); vmId++) {
+            List<Pe> peList = new ArrayList<Pe>(problem.getVmPes(vmId));
+            for (int pe = 0; pe < problem.getVmPes(vmId); pe++) {
+                peList.add(new Pe(pe, new PeProvisionerSimple(problem.getVmMips(vmId))));
+            }
+            hostList.add(new Host(vmId, new RamProvisionerSimple(VM_RAM), new BwProvisionerSimple(VM_BW), VM_SIZE,
+                    peList, new VmSchedulerTimeShared(peList)));
+        }
+        DatacenterCharacteristics characteristics = new DatacenterCharacteristics(
+                "x86", "Linux", "Xen", hostList, 10.0, 3.0, 0.05, 0.1, 0.1);
+        return new Datacenter("Datacenter_0", characteristics, new PinnedVmAllocationPolicy(hostList),
+                new LinkedList<Storage>(), 0);
+    }
+
+    /**
+     * Places each VM on the host with its id, so a small VM never takes the host a larger one needs.
+     */
+    private static class PinnedVmAllocationPolicy extends VmAllocationPolicySimple {
+        PinnedVmAllocationPolicy(List<? extends Host> hostList) {
+            super(hostList);
+        }
+
+        @Override
+        public boolean allocateHostForVm(Vm vm) {
+            return vm.getId() < getHostList().size() && allocateHostForVm(vm, getHostList().get(vm.getId()));
+        }
+    }
+
+    private static List<Vm> createVms(SchedulingProblem problem, int brokerId) {
+        List<Vm> vmList = new ArrayList<Vm>(problem.getNumVMs());
+        for (int vmId = 0; vmId < problem.getNumVMs(); vmId++) {
+            vmList.add(new Vm(vmId, brokerId, problem.getVmMips(vmId), problem.getVmPes(vmId), VM_RAM, VM_BW, VM_SIZE,
+                    "Xen", new CloudletSchedulerTimeShared()));
+        }
+        return vmList;
+    }
+
+    private static List<Cloudlet> createCloudlets(SchedulingProblem problem, int brokerId) {
+        List<Cloudlet> cloudletList = new ArrayList<Cloudlet>(problem.getNumTasks());
+        for (int i = 0; i < problem.getNumTasks(); i++) {
+            Cloudlet cloudlet = new Cloudlet(i, problem.getTaskLength(i), 1, 300, 300,
+                    new UtilizationModelFull(), new UtilizationModelFull(), new UtilizationModelFull());
+            cloudlet.setUserId(brokerId);
+            cloudletList.add(cloudlet);
+        }
+        return cloudletList;
+    }
+}
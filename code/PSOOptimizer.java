@@ -0,0 +1,110 @@
+package org.fog.test.perfeval;
+
+import java.util.SplittableRandom;
+
+import static org.fog.test.perfeval.Constants.*;
+
+/**
+ * Particle Swarm Optimization over VM indices; the global best is the optimizer's best solution.
+ * Personal bests keep the fitness they were found with, so each iteration evaluates only the
+ * particles. Velocities are continuous and positions are rounded to the nearest VM only when stored.
+ */
+public class PSOOptimizer extends PopulationOptimizer {
+    private Population particles; // Particles (solutions)
+    private Population pBest; // Personal best solutions, with their fitness; never re-evaluated
+    private double[] velocity; // Velocity of particles, numTasks per particle
+    private SplittableRandom[] particleRandoms; // One stream per particle, used by its position updates
+
+    public PSOOptimizer() {
+        this(RandomStreams.forName("PSO"));
+    }
+
+    public PSOOptimizer(SplittableRandom random) {
+        super(random);
+    }
+
+    public PSOOptimizer(SplittableRandom random, SchedulerConfig config) {
+        super(random, config);
+    }
+
+    @Override
+    public String getName() {
+        return "PSO";
+    }
+
+    @Override
+    protected void initializePopulation() {
+        particles = new Population(config.getPopulationSize(), numTasks, numVMs);
+        pBest = new Population(config.getPopulationSize(), numTasks, numVMs);
+        velocity = new double[Math.multiplyExact(config.getPopulationSize(), numTasks)]; // Initial velocity is 0
+        particleRandoms = RandomStreams.split(random, config.getPopulationSize());
+
+        for (int i = 0; i < config.getPopulationSize(); i++) {
+            randomize(particles, i);
+        }
+        resetPersonalBests();
+    }
+
+    @Override
+    protected void seedPopulation() {
+        super.seedPopulation();
+        resetPersonalBests(); // Seeded particles start from their own personal best
+    }
+
+    // Personal bests start at the particles, unscored, so the first evaluation replaces them
+    private void resetPersonalBests() {
+        for (int i = 0; i < config.getPopulationSize(); i++) {
+            particles.copyTo(i, pBest, i);
+            pBest.setFitness(i, Double.POSITIVE_INFINITY);
+        }
+    }
+
+    @Override
+    protected Population getPopulation() {
+        return particles;
+    }
+
+    @Override
+    protected void runIteration(int iter) {
+        // Evaluate the particles; this also updates the global best
+        evaluatePopulation(particles);
+
+        // Update personal best, keeping its fitness with it
+        for (int i = 0; i < particles.size(); i++) {
+            if (particles.getFitness(i) < pBest.getFitness(i)) {
+                particles.copyTo(i, pBest, i);
+            }
+        }
+
+        // Update velocity and position of particles
+        updateParticles(iter);
+    }
+
+    private void updateParticles(int iter) {
+        double w = 0.5; // Inertia weight
+        double c1 = 1.0; // Cognitive (particle's own experience)
+        double c2 = 2.0; // Social (other particles' experiences)
+        int[] gBest = bestSolution;
+        GeneArray positions = particles.genes();
+        GeneArray pBestPositions = pBest.genes();
+
+        for (int i = 0; i < particles.size(); i++) {
+            int offset = particles.offset(i); // Same layout in particles and pBest
+            int velocityOffset = i * numTasks;
+            SplittableRandom particleRandom = particleRandoms[i];
+
+            for (int j = 0; j < numTasks; j++) {
+                int position = positions.get(offset + j);
+                int v = velocityOffset + j;
+                // Update velocity
+                double r1 = particleRandom.nextDouble();
+                double r2 = particleRandom.nextDouble();
+                double particleVelocity = w * velocity[v] + c1 * r1 * (pBestPositions.get(offset + j) - position) + c2 * r2 * (gBest[j] - position);
+                velocity[v] = particleVelocity;
+
+                // Update position, rounded to the nearest VM and clamped within bounds
+                positions.set(offset + j, clamp((int) Math.round(position + particleVelocity)));
+            }
+        }
+    }
+}
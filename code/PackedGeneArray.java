@@ -0,0 +1,107 @@
+package org.fog.test.perfeval;
+
+/**
+ * Genes bit-packed into a long[] with a fixed number of bits per gene. Genes never straddle two
+ * words, so a word holds 64 / bits genes; with 4 bits (up to 16 VMs) that is 8x smaller than int.
+ */
+public class PackedGeneArray implements GeneArray {
+    private final int bits;
+    private final int genesPerWord;
+    private final int wordShift; // log2(genesPerWord) when it is a power of two, otherwise -1
+    private final long mask;
+    private final int length;
+    private final long[] words;
+
+    public PackedGeneArray(int bits, int length) {
+        if (bits < 1 || bits > 32) {
+            throw new IllegalArgumentException("bits must be in [1, 32]: " + bits);
+        }
+        this.bits = bits;
+        this.genesPerWord = 64 / bits;
+        this.wordShift = Integer.bitCount(genesPerWord) == 1 ? Integer.numberOfTrailingZeros(genesPerWord) : -1;
+        this.mask = (1L << bits) - 1;
+        this.length = length;
+        this.words = new long[(length + genesPerWord - 1) / genesPerWord];
+    }
+
+    /**
+     * Bits needed to store every index of numVMs VMs; at least 1.
+     */
+    public static int bitsFor(int numVMs) {
+        return Math.max(1, 32 - Integer.numberOfLeadingZeros(numVMs - 1));
+    }
+
+    public int getBits() {
+        return bits;
+    }
+
+    @Override
+    public int get(int index) {
+        int word = word(index);
+        int shift = (index - word * genesPerWord) * bits;
+        return (int) ((words[word] >>> shift) & mask);
+    }
+
+    @Override
+    public void set(int index, int vm) {
+        int word = word(index);
+        int shift = (index - word * genesPerWord) * bits;
+        words[word] = (words[word] & ~(mask << shift)) | ((vm & mask) << shift);
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public GeneArray newArray(int length) {
+        return new PackedGeneArray(bits, length);
+    }
+
+    @Override
+    public long sizeInBytes() {
+        return 8L * words.length;
+    }
+
+    @Override
+    public int alignment() {
+        return genesPerWord;
+    }
+
+    // Walks the words sequentially instead of locating every gene on its own
+    @Override
+    public void decode(int from, int[] target, int targetFrom, int count) {
+        int word = word(from);
+        int slot = from - word * genesPerWord;
+        long bitsLeft = words.length > 0 ? words[word] >>> (slot * bits) : 0;
+        for (int i = 0; i < count; i++) {
+            if (slot == genesPerWord) {
+                bitsLeft = words[++word];
+                slot = 0;
+            }
+            target[targetFrom + i] = (int) (bitsLeft & mask);
+            bitsLeft >>>= bits;
+            slot++;
+        }
+    }
+
+    @Override
+    public void copyTo(int from, GeneArray target, int targetFrom, int count) {
+        if (target instanceof PackedGeneArray && ((PackedGeneArray) target).bits == bits
+                && from % genesPerWord == 0 && targetFrom % genesPerWord == 0) {
+            // Word-aligned copy of whole words, then the tail gene by gene
+            int wholeWords = count / genesPerWord;
+            System.arraycopy(words, from / genesPerWord, ((PackedGeneArray) target).words, targetFrom / genesPerWord, wholeWords);
+            for (int i = wholeWords * genesPerWord; i < count; i++) {
+                target.set(targetFrom + i, get(from + i));
+            }
+        } else {
+            GeneArray.super.copyTo(from, target, targetFrom, count);
+        }
+    }
+
+    private int word(int index) {
+        return wordShift >= 0 ? index >>> wordShift : index / genesPerWord;
+    }
+}
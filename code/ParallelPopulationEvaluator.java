@@ -0,0 +1,70 @@
+package org.fog.test.perfeval;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Scores the population in parallel on a {@link ForkJoinPool}. Each worker thread keeps its own
+ * {@link FitnessKernel}, so steady-state evaluation allocates no scratch space.
+ */
+public class ParallelPopulationEvaluator implements PopulationEvaluator {
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+    private final ThreadLocal<FitnessKernel> kernels;
+
+    /**
+     * Uses a dedicated pool of the given size, or the common pool when threads is 0.
+     */
+    public ParallelPopulationEvaluator(FitnessContext context, int threads) {
+        this(context, threads == 0 ? ForkJoinPool.commonPool() : new ForkJoinPool(threads), threads != 0);
+    }
+
+    /**
+     * Uses a caller-supplied pool, which is left running on close().
+     */
+    public ParallelPopulationEvaluator(FitnessContext context, ForkJoinPool pool) {
+        this(context, pool, false);
+    }
+
+    private ParallelPopulationEvaluator(FitnessContext context, ForkJoinPool pool, boolean ownsPool) {
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+        this.kernels = ThreadLocal.withInitial(context::newKernel);
+    }
+
+    @Override
+    public void evaluate(Population population, int from, int to) {
+        pool.invoke(new EvaluateRange(population, from, to));
+    }
+
+    @Override
+    public void close() {
+        if (ownsPool) {
+            pool.shutdown();
+        }
+    }
+
+    private class EvaluateRange extends RecursiveAction {
+        private final Population population;
+        private final int from;
+        private final int to;
+
+        EvaluateRange(Population population, int from, int to) {
+            this.population = population;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= FitnessKernel.INTERLEAVE) { // One interleaved batch per leaf task
+                kernels.get().evaluateBatch(population, from, to, population.fitnessValues());
+                return;
+            }
+            int blocks = (to - from + FitnessKernel.INTERLEAVE - 1) / FitnessKernel.INTERLEAVE;
+            int mid = from + blocks / 2 * FitnessKernel.INTERLEAVE; // Halves on a batch boundary
+            invokeAll(new EvaluateRange(population, from, mid),
+                    new EvaluateRange(population, mid, to));
+        }
+    }
+}
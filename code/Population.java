@@ -0,0 +1,145 @@
+package org.fog.test.perfeval;
+
+/**
+ * A population stored as one contiguous gene array instead of an int[] per individual: task t of
+ * individual i is at genes().get(offset(i) + t), and the fitness of individual i is in a parallel
+ * double[]. A second gene buffer can hold the next generation while it is built from the current
+ * one; swap() makes it current. Nothing is allocated after the buffers are created.
+ *
+ * Genes use the {@link GeneEncoding} chosen for the problem's VM count, so a population of a
+ * 60-VM problem takes one byte per task instead of four.
+ */
+public class Population {
+    private final int size;
+    private final int numTasks;
+    private final int numVMs;
+    private final GeneEncoding encoding;
+    private final int stride; // Genes per individual, numTasks rounded up to the encoding's alignment
+    private GeneArray genes; // Current generation
+    private GeneArray nextGenes; // Next generation, created on first use
+    private final double[] fitness; // Fitness of each individual of the current generation
+
+    /**
+     * Population with plain int genes.
+     */
+    public Population(int size, int numTasks) {
+        this(size, numTasks, Integer.MAX_VALUE, GeneEncoding.INT);
+    }
+
+    /**
+     * Population whose genes use Constants.GENE_ENCODING for numVMs VMs.
+     */
+    public Population(int size, int numTasks, int numVMs) {
+        this(size, numTasks, numVMs, Constants.GENE_ENCODING);
+    }
+
+    public Population(int size, int numTasks, int numVMs, GeneEncoding encoding) {
+        this.size = size;
+        this.numTasks = numTasks;
+        this.numVMs = numVMs;
+        this.encoding = encoding.resolve(numVMs);
+        int alignment = GeneArray.allocate(this.encoding, numVMs, 0).alignment();
+        this.stride = (numTasks + alignment - 1) / alignment * alignment;
+        this.genes = GeneArray.allocate(this.encoding, numVMs, Math.multiplyExact(size, stride));
+        this.fitness = new double[size];
+    }
+
+    /**
+     * Empty population of another size with the same task count and encoding.
+     */
+    public Population newPopulation(int size) {
+        return new Population(size, numTasks, numVMs, encoding);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getNumTasks() {
+        return numTasks;
+    }
+
+    public GeneEncoding getEncoding() {
+        return encoding;
+    }
+
+    /**
+     * Genes of the current generation; individual i starts at offset(i).
+     */
+    public GeneArray genes() {
+        return genes;
+    }
+
+    /**
+     * Genes of the next generation, laid out like genes(). Contents are undefined until written.
+     */
+    public GeneArray nextGenes() {
+        if (nextGenes == null) {
+            nextGenes = genes.newArray(genes.length());
+        }
+        return nextGenes;
+    }
+
+    /**
+     * Makes the next generation current; the old current buffer becomes the next one.
+     */
+    public void swap() {
+        GeneArray current = genes;
+        genes = nextGenes();
+        nextGenes = current;
+    }
+
+    public int offset(int individual) {
+        return individual * stride;
+    }
+
+    public int get(int individual, int task) {
+        return genes.get(individual * stride + task);
+    }
+
+    public void set(int individual, int task, int vm) {
+        genes.set(individual * stride + task, vm);
+    }
+
+    public double getFitness(int individual) {
+        return fitness[individual];
+    }
+
+    public void setFitness(int individual, double value) {
+        fitness[individual] = value;
+    }
+
+    // Fitness of the current generation, for evaluators that write it in place
+    double[] fitnessValues() {
+        return fitness;
+    }
+
+    /**
+     * Bytes used by the genes of both generations.
+     */
+    public long sizeInBytes() {
+        return genes.sizeInBytes() + (nextGenes == null ? 0 : nextGenes.sizeInBytes());
+    }
+
+    /**
+     * Copies one individual of the current generation into target[0 .. numTasks).
+     */
+    public void copyTo(int individual, int[] target) {
+        genes.decode(individual * stride, target, 0, numTasks);
+    }
+
+    /**
+     * Overwrites one individual of the current generation with source[0 .. numTasks).
+     */
+    public void copyFrom(int[] source, int individual) {
+        genes.encode(source, 0, individual * stride, numTasks);
+    }
+
+    /**
+     * Copies one individual, genes and fitness, into an individual of another population.
+     */
+    public void copyTo(int individual, Population target, int targetIndividual) {
+        genes.copyTo(individual * stride, target.genes, target.offset(targetIndividual), numTasks);
+        target.fitness[targetIndividual] = fitness[individual];
+    }
+}
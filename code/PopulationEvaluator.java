@@ -0,0 +1,54 @@
+package org.fog.test.perfeval;
+
+/**
+ * Scores a whole population against one {@link FitnessContext}, writing the fitness of each
+ * individual into the population. Individuals are independent, so reducing the results in index
+ * order gives the same best solution whichever implementation is used.
+ */
+public interface PopulationEvaluator extends AutoCloseable {
+
+    /**
+     * Scores individuals from (inclusive) to to (exclusive) of the current generation.
+     */
+    void evaluate(Population population, int from, int to);
+
+    default void evaluate(Population population) {
+        evaluate(population, 0, population.size());
+    }
+
+    @Override
+    default void close() {
+    }
+
+    /**
+     * Evaluator selected by Constants: socket workers if EVALUATION_WORKER_HOSTS is set, loopback
+     * workers if EVALUATION_WORKERS is positive, otherwise create(context, EVALUATION_THREADS).
+     */
+    static PopulationEvaluator fromConstants(FitnessContext context) {
+        return fromConfig(context, SchedulerConfig.defaults());
+    }
+
+    /**
+     * Like fromConstants, with the thread count of the config.
+     */
+    static PopulationEvaluator fromConfig(FitnessContext context, SchedulerConfig config) {
+        if (!Constants.EVALUATION_WORKER_HOSTS.isEmpty()) {
+            return DistributedPopulationEvaluator.connect(context, Constants.EVALUATION_WORKER_HOSTS);
+        }
+        if (Constants.EVALUATION_WORKERS > 0) {
+            return DistributedPopulationEvaluator.loopback(context, Constants.EVALUATION_WORKERS);
+        }
+        return create(context, config.getEvaluationThreads());
+    }
+
+    /**
+     * Sequential evaluation on the calling thread when threads is 1, otherwise a fork-join
+     * evaluator; threads of 0 uses the common pool, more than 1 a dedicated pool of that size.
+     */
+    static PopulationEvaluator create(FitnessContext context, int threads) {
+        if (threads == 1) {
+            return new SequentialPopulationEvaluator(context);
+        }
+        return new ParallelPopulationEvaluator(context, threads);
+    }
+}
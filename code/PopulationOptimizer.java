@@ -0,0 +1,503 @@
+package org.fog.test.perfeval;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.fog.test.perfeval.Common.*;
+import static org.fog.test.perfeval.Constants.*;
+
+/**
+ * Skeleton shared by the population-based optimizers: builds the fitness context, runs the main
+ * loop, tracks the best solution and polishes it at the end. Subclasses create their population
+ * and define one iteration of their algorithm. Populations are {@link Population}s and the best
+ * solution is copied into a buffer owned by the optimizer, so steady-state iterations allocate
+ * nothing.
+ *
+ * Besides optimize(), the loop can be driven step by step with initialize / iterate / finish.
+ *
+ * With a deadline set the optimizer works in anytime mode: once the deadline passes it stops after
+ * the current iteration, skips the final refinement and returns the best solution found so far.
+ * The best-so-far solution is also published as a {@link SolutionSnapshot} for other threads.
+ */
+public abstract class PopulationOptimizer implements SchedulingOptimizer, SearchProgress {
+    protected final SplittableRandom random; // Optimizer stream; individuals get streams split from it
+    protected final SchedulerConfig config; // Population size, iteration budget and the other per-run settings
+    protected FitnessContext fitnessContext; // Execution-time matrix and VM data, built once per run
+    protected int numTasks;
+    protected int numVMs;
+    protected PopulationEvaluator populationEvaluator;
+    private CachingPopulationEvaluator cachingEvaluator; // Null when the fitness cache is disabled
+    private DistributedPopulationEvaluator distributedEvaluator; // Null unless evaluation runs on workers
+    private SchedulingProblem problem; // Problem of the current run, when started from one
+    private VmTypeReduction vmTypes; // Non-null while the search runs over VM types instead of VMs
+    private FitnessContext problemContext; // Context of the concrete VMs passed in by the caller, or null
+    protected double bestFitness;
+    protected int[] bestSolution; // Null until the first evaluation, then overwritten in place
+
+    private StoppingPolicy stoppingPolicy;
+    private Function<FitnessContext, PopulationEvaluator> evaluatorFactory;
+    private int[][] seedSolutions = new int[0][]; // Replace the first random individuals of the next run
+    private double seededFraction; // Share of the population seeded by SEEDING_HEURISTICS
+    private boolean aggregateVmTypes;
+    private StopReason stopReason;
+    private long deadlineNanos; // 0 = no deadline
+    private volatile SolutionSnapshot bestSnapshot; // Written by the optimizing thread, read by any
+    private int iterations;
+    private long evaluations;
+    private long startTime;
+
+    protected PopulationOptimizer(SplittableRandom random) {
+        this(random, SchedulerConfig.defaults());
+    }
+
+    protected PopulationOptimizer(SplittableRandom random, SchedulerConfig config) {
+        this.random = random;
+        this.config = config;
+        this.seededFraction = config.getSeededFraction();
+        this.aggregateVmTypes = config.isAggregateVmTypes();
+        this.stoppingPolicy = StoppingPolicy.fromConfig(config);
+        this.deadlineNanos = TimeUnit.MICROSECONDS.toNanos(config.getDeadlineMicros());
+        this.evaluatorFactory = context -> PopulationEvaluator.fromConfig(context, config);
+    }
+
+    /**
+     * Optimizer for one of the algorithm names MPA, MMPA, IMMPA, PSO, WOA or SCA.
+     */
+    public static PopulationOptimizer create(String algorithm, SplittableRandom random) {
+        return create(algorithm, random, SchedulerConfig.defaults());
+    }
+
+    public static PopulationOptimizer create(String algorithm, SplittableRandom random, SchedulerConfig config) {
+        switch (algorithm) {
+            case "MPA":
+                return new MPAOptimizer(random, config);
+            case "MMPA":
+                return new MMPAOptimizer(random, config);
+            case "IMMPA":
+                return new IMMPAOptimizer(random, config);
+            case "PSO":
+                return new PSOOptimizer(random, config);
+            case "WOA":
+                return new WOAOptimizer(random, config);
+            case "SCA":
+                return new SCAOptimizer(random, config);
+            default:
+                throw new IllegalArgumentException("Unknown algorithm: " + algorithm);
+        }
+    }
+
+    @Override
+    public SchedulingResult optimize(SchedulingProblem problem) {
+        return optimize(problem, null);
+    }
+
+    /**
+     * Like optimize(SchedulingProblem) with the problem's fitness context already built, e.g. one
+     * shared by every trial on a workload; null builds it.
+     */
+    public SchedulingResult optimize(SchedulingProblem problem, FitnessContext context) {
+        initialize(problem, context);
+
+        // Main loop of the algorithm, until the stopping policy ends it early
+        for (int iter = 0; iter < config.getMaxIterations(); iter++) {
+            if (iterate(iter)) {
+                break;
+            }
+        }
+
+        return finish();
+    }
+
+    /**
+     * Builds the fitness context and the initial population; everything the main loop needs.
+     */
+    public void initialize(SchedulingProblem problem) {
+        initialize(problem, null);
+    }
+
+    /**
+     * Like initialize(SchedulingProblem) with the problem's context already built, or null to build
+     * it. The context must weigh energy by the config's alpha.
+     */
+    public void initialize(SchedulingProblem problem, FitnessContext context) {
+        if (context != null && context.getAlpha() != config.getAlpha()) {
+            throw new IllegalArgumentException("Context alpha " + context.getAlpha() + " differs from the config's "
+                    + config.getAlpha());
+        }
+        long start = System.nanoTime();
+        problemContext = context;
+        VmTypeReduction types = aggregateVmTypes ? VmTypeReduction.of(problem) : null;
+        if (types != null && types.reduces()) {
+            // Search over VM types; finish() expands the result back to concrete VMs
+            initialize(types.reducedContext(config.getAlpha()), problem, types);
+        } else {
+            initialize(context != null ? context : new FitnessContext(problem, config.getAlpha()), problem, null);
+        }
+        startTime = start; // Building the context counts against the deadline
+    }
+
+    /**
+     * Like initialize(SchedulingProblem) with a context that is already built, e.g. one shared
+     * by several optimizers. VM types are not aggregated.
+     */
+    public void initialize(FitnessContext context) {
+        problemContext = null;
+        initialize(context, null, null);
+    }
+
+    private void initialize(FitnessContext context, SchedulingProblem problem, VmTypeReduction vmTypes) {
+        startTime = System.nanoTime();
+        this.problem = problem;
+        this.vmTypes = vmTypes;
+        fitnessContext = context;
+        numTasks = context.getNumTasks();
+        numVMs = context.getNumVMs();
+        bestFitness = Double.MAX_VALUE; // For minimization problem
+        bestSolution = null;
+        bestSnapshot = null;
+        iterations = 0;
+        evaluations = 0;
+        stopReason = StopReason.MAX_ITERATIONS;
+        stoppingPolicy.reset();
+
+        initializePopulation();
+        seedPopulation();
+        populationEvaluator = evaluatorFactory.apply(fitnessContext);
+        distributedEvaluator = populationEvaluator instanceof DistributedPopulationEvaluator
+                ? (DistributedPopulationEvaluator) populationEvaluator : null;
+        if (FITNESS_CACHE_SIZE > 0) {
+            // Duplicate solutions (e.g. after clamping) are answered from the cache instead of re-evaluated
+            cachingEvaluator = new CachingPopulationEvaluator(populationEvaluator, new SolutionCache(numVMs, FITNESS_CACHE_SIZE));
+            populationEvaluator = cachingEvaluator;
+        } else {
+            cachingEvaluator = null;
+        }
+        prepareSearch();
+    }
+
+    /**
+     * Called at the end of initialization, once the population is seeded and can be evaluated.
+     * Subclasses that score their population before the first iteration do it here.
+     */
+    protected void prepareSearch() {
+    }
+
+    /**
+     * Copies the seed solutions over the first individuals of the fresh population, followed by
+     * one schedule per seeding heuristic for the seeded fraction of it. Subclasses that keep more
+     * per-individual state than the population override this.
+     */
+    protected void seedPopulation() {
+        Population population = getPopulation();
+        int heuristics = Math.min(SEEDING_HEURISTICS.length, (int) Math.round(seededFraction * population.size()));
+        heuristics = Math.max(0, Math.min(heuristics, population.size() - seedSolutions.length));
+        for (int h = 0; h < heuristics; h++) {
+            population.copyFrom(SEEDING_HEURISTICS[h].schedule(fitnessContext), seedSolutions.length + h);
+        }
+        int vmCount = vmTypes == null ? numVMs : problem.getNumVMs();
+        for (int i = 0; i < seedSolutions.length && i < population.size(); i++) {
+            int[] seed = seedSolutions[i];
+            if (seed.length != numTasks) {
+                throw new IllegalArgumentException("Seed solution has " + seed.length + " tasks, the problem " + numTasks);
+            }
+            for (int vm : seed) {
+                if (vm < 0 || vm >= vmCount) {
+                    throw new IllegalArgumentException("Seed solution assigns a task to unknown VM " + vm);
+                }
+            }
+            population.copyFrom(vmTypes == null ? seed : vmTypes.reduce(seed), i);
+        }
+    }
+
+    /**
+     * Called by subclasses that score their population while initializing, so the first best
+     * solution is visible before the first iteration.
+     */
+    protected void publishInitialBest() {
+        if (bestSolution != null) {
+            publishBest();
+        }
+    }
+
+    /**
+     * Runs one iteration of the algorithm and returns true if the deadline passed or the stopping
+     * policy asks to stop.
+     */
+    public boolean iterate(int iter) {
+        double previousBest = bestFitness;
+        runIteration(iter);
+        iterations++;
+        if (bestFitness < previousBest) {
+            publishBest();
+        }
+        if (deadlinePassed()) {
+            stopReason = StopReason.DEADLINE;
+            return true;
+        }
+        StopReason reason = stoppingPolicy.check(this);
+        if (reason != null) {
+            stopReason = reason;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns copies of the count best solutions for another island, best first: the best
+     * solution found so far, then the best individuals of the current population, which is
+     * scored first.
+     */
+    public Migrants emigrate(int source, int count) {
+        Population population = getPopulation();
+        double previousBest = bestFitness;
+        evaluatePopulation(population);
+        if (bestFitness < previousBest) {
+            publishBest();
+        }
+        count = Math.min(count, population.size() + 1);
+        int[] order = rankByFitness(population);
+        int[][] solutions = new int[count][];
+        double[] migrantFitnesses = new double[count];
+        if (count > 0) {
+            solutions[0] = bestSolution.clone(); // The population may have moved away from it
+            migrantFitnesses[0] = bestFitness;
+        }
+        for (int m = 1; m < count; m++) {
+            solutions[m] = new int[numTasks];
+            population.copyTo(order[m - 1], solutions[m]);
+            migrantFitnesses[m] = population.getFitness(order[m - 1]);
+        }
+        return new Migrants(source, solutions, migrantFitnesses);
+    }
+
+    /**
+     * Replaces the worst individuals of the population with the migrants that beat them, using
+     * the fitness from the last evaluation (e.g. by emigrate()). Returns the number accepted.
+     */
+    public int immigrate(Migrants migrants) {
+        Population population = getPopulation();
+        int[] order = rankByFitness(population);
+        int accepted = 0;
+        for (int m = 0; m < migrants.size() && m < population.size(); m++) {
+            int worst = order[population.size() - 1 - m];
+            double fitness = migrants.getFitness(m);
+            if (fitness >= population.getFitness(worst)) {
+                break; // Migrants are sorted best first, the rest cannot do better
+            }
+            population.copyFrom(migrants.getSolution(m), worst);
+            population.setFitness(worst, fitness);
+            if (fitness < bestFitness) {
+                bestFitness = fitness;
+                if (bestSolution == null) {
+                    bestSolution = new int[numTasks];
+                }
+                population.copyTo(worst, bestSolution);
+                publishBest();
+            }
+            accepted++;
+        }
+        return accepted;
+    }
+
+    // Individuals sorted by fitness, best first; populations are small, so insertion sort
+    private int[] rankByFitness(Population population) {
+        int[] order = new int[population.size()];
+        for (int i = 0; i < order.length; i++) {
+            int j = i;
+            while (j > 0 && population.getFitness(order[j - 1]) > population.getFitness(i)) {
+                order[j] = order[j - 1];
+                j--;
+            }
+            order[j] = i;
+        }
+        return order;
+    }
+
+    /**
+     * Ends the run: releases the evaluator, refines the best solution and scores it. A search over
+     * VM types is expanded to concrete VMs first, so afterwards the best solution, its fitness and
+     * the context all refer to VMs again. Returns null if no solution was ever evaluated.
+     */
+    public SchedulingResult finish() {
+        populationEvaluator.close();
+        if (bestSolution == null) {
+            return null;
+        }
+        if (vmTypes != null) {
+            bestSolution = vmTypes.expand(bestSolution);
+            fitnessContext = problemContext != null ? problemContext : new FitnessContext(problem, config.getAlpha());
+            numVMs = fitnessContext.getNumVMs();
+            bestFitness = fitnessContext.evaluate(bestSolution);
+            vmTypes = null;
+            publishBest();
+        }
+        // Polish the best solution with cheap single-task moves before returning it, if enabled and time permitting
+        if (config.getLocalSearchMoves() > 0 && !deadlinePassed()) {
+            refineSolution(bestSolution, new IncrementalEvaluator(fitnessContext), random, config.getLocalSearchMoves());
+            bestFitness = fitnessContext.evaluate(bestSolution);
+            publishBest();
+        }
+        return SchedulingResult.of(getName(), bestSolution, fitnessContext, iterations, evaluations,
+                getElapsedNanos(), stopReason, getCacheHits());
+    }
+
+    /**
+     * Sets the anytime deadline, measured from the start of each run; 0 disables it. The default
+     * comes from SchedulerConfig.getDeadlineMicros(). The deadline is checked between iterations, so a run
+     * overshoots it by at most one iteration, and at least one iteration always runs.
+     */
+    public void setDeadline(long time, TimeUnit unit) {
+        this.deadlineNanos = unit.toNanos(time);
+    }
+
+    @Override
+    public SolutionSnapshot getBestSnapshot() {
+        return bestSnapshot;
+    }
+
+    /**
+     * Solutions that take the place of the first random individuals from the next run on, e.g. the
+     * previous window's schedule; one VM index per task. An empty array goes back to a fully random
+     * population.
+     */
+    public void setSeedSolutions(int[]... seedSolutions) {
+        this.seedSolutions = seedSolutions.clone();
+    }
+
+    /**
+     * Share of the initial population, between 0 and 1, built by the greedy heuristics of
+     * Constants.SEEDING_HEURISTICS (one individual each) instead of at random. The default is the
+     * config's seededFraction, 0 unless a run opts in.
+     */
+    public void setSeededFraction(double seededFraction) {
+        if (seededFraction < 0 || seededFraction > 1) {
+            throw new IllegalArgumentException("Seeded fraction must be between 0 and 1");
+        }
+        this.seededFraction = seededFraction;
+    }
+
+    /**
+     * Whether runs started from a SchedulingProblem search over VM types when some VMs are
+     * identical. The reduced problem is a relaxation of the original one, so this is off unless
+     * the config's aggregateVmTypes turns it on.
+     */
+    public void setAggregateVmTypes(boolean aggregateVmTypes) {
+        this.aggregateVmTypes = aggregateVmTypes;
+    }
+
+    /**
+     * Replaces the stopping policy used from the next run on; the default comes from the config.
+     */
+    public void setStoppingPolicy(StoppingPolicy stoppingPolicy) {
+        this.stoppingPolicy = stoppingPolicy;
+    }
+
+    /**
+     * Replaces how the evaluator of each run is built from its context, e.g.
+     * context -> PopulationEvaluator.create(context, 4) for four threads; the default follows
+     * the config. The optimizer closes the evaluator when the run finishes.
+     */
+    public void setEvaluatorFactory(Function<FitnessContext, PopulationEvaluator> evaluatorFactory) {
+        this.evaluatorFactory = evaluatorFactory;
+    }
+
+    public SchedulerConfig getConfig() {
+        return config;
+    }
+
+    public int[] getBestSolution() {
+        return bestSolution;
+    }
+
+    @Override
+    public double getBestFitness() {
+        return bestFitness;
+    }
+
+    @Override
+    public int getIterations() {
+        return iterations;
+    }
+
+    @Override
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    /**
+     * Evaluations answered by the fitness cache, including duplicates within one population.
+     */
+    public long getCacheHits() {
+        return cachingEvaluator == null ? 0 : cachingEvaluator.getCache().getHits() + cachingEvaluator.getDuplicates();
+    }
+
+    /**
+     * Latency, traffic and worker utilization of the last run, or null if it evaluated locally.
+     */
+    public DistributionMetrics getDistributionMetrics() {
+        return distributedEvaluator == null ? null : distributedEvaluator.getMetrics();
+    }
+
+    @Override
+    public long getElapsedNanos() {
+        return System.nanoTime() - startTime;
+    }
+
+    private boolean deadlinePassed() {
+        return deadlineNanos > 0 && getElapsedNanos() >= deadlineNanos;
+    }
+
+    // While VM types are aggregated the snapshot's fitness is that of the reduced problem, an
+    // estimate, and its assignment is expanded to VMs when read
+    private void publishBest() {
+        bestSnapshot = new SolutionSnapshot(bestSolution, vmTypes, bestFitness, iterations, getElapsedNanos());
+    }
+
+    protected abstract void initializePopulation();
+
+    protected abstract Population getPopulation();
+
+    protected abstract void runIteration(int iter);
+
+    /**
+     * Scores the population and updates the best solution. Individuals are compared in index
+     * order, so the result does not depend on the evaluator used.
+     */
+    protected void evaluatePopulation(Population population) {
+        evaluate(population);
+        for (int p = 0; p < population.size(); p++) {
+            // Check if the current solution is better than the best known solution
+            if (population.getFitness(p) < bestFitness) {
+                bestFitness = population.getFitness(p);
+                if (bestSolution == null) {
+                    bestSolution = new int[numTasks];
+                }
+                population.copyTo(p, bestSolution); // Store the best solution
+            }
+        }
+    }
+
+    /**
+     * Scores a population without touching the best solution.
+     */
+    protected void evaluate(Population population) {
+        populationEvaluator.evaluate(population);
+        evaluations += population.size();
+    }
+
+    /**
+     * Random assignment of every task of one individual to a VM.
+     */
+    protected void randomize(Population population, int individual) {
+        GeneArray genes = population.genes();
+        int offset = population.offset(individual);
+        for (int j = 0; j < numTasks; j++) {
+            genes.set(offset + j, random.nextInt(numVMs)); // Assign a random VM to each task
+        }
+    }
+
+    protected int clamp(int value) {
+        return Math.max(0, Math.min(numVMs - 1, value));
+    }
+}
@@ -0,0 +1,44 @@
+package org.fog.test.perfeval;
+
+import java.util.SplittableRandom;
+
+/**
+ * Seedable random streams for the metaheuristics. Every optimizer gets a stream derived from the
+ * run seed and a name (usually its broker's), and every individual gets a stream split from it, so a
+ * run is reproducible from the seed alone and no two users of randomness share a generator.
+ */
+public class RandomStreams {
+
+    private RandomStreams() {
+    }
+
+    /**
+     * Stream for one named user, e.g. a broker. Depends only on the seed and the name, not on the
+     * order in which streams are created.
+     */
+    public static SplittableRandom forName(long seed, String name) {
+        return new SplittableRandom(mix(seed, name));
+    }
+
+    public static SplittableRandom forName(String name) {
+        return forName(Constants.RANDOM_SEED, name);
+    }
+
+    /**
+     * Splits count independent streams off the parent, e.g. one per individual of a population.
+     */
+    public static SplittableRandom[] split(SplittableRandom parent, int count) {
+        SplittableRandom[] streams = new SplittableRandom[count];
+        for (int i = 0; i < count; i++) {
+            streams[i] = parent.split();
+        }
+        return streams;
+    }
+
+    private static long mix(long seed, String name) {
+        long h = seed ^ (name.hashCode() * 0x9E3779B97F4A7C15L);
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+}
@@ -0,0 +1,42 @@
+package org.fog.test.perfeval;
+
+/**
+ * Stops a search once its best fitness improved by less than a relative threshold over the last
+ * window iterations, i.e. when (f[i - window] - f[i]) / |f[i - window]| < delta.
+ */
+public class RelativeImprovementPolicy implements StoppingPolicy {
+    private final double delta;
+    private final int window;
+    private final double[] history; // Best fitness of the last window + 1 checks, as a ring buffer
+    private int checks;
+
+    public RelativeImprovementPolicy(double delta, int window) {
+        if (delta < 0 || window <= 0) {
+            throw new IllegalArgumentException("delta must be >= 0 and window positive: " + delta + ", " + window);
+        }
+        this.delta = delta;
+        this.window = window;
+        this.history = new double[window + 1];
+    }
+
+    @Override
+    public StopReason check(SearchProgress progress) {
+        double current = progress.getBestFitness();
+        history[checks % history.length] = current;
+        checks++;
+        if (checks <= window) {
+            return null; // Not a full window yet
+        }
+        double previous = history[checks % history.length]; // Best fitness window checks ago
+        if (previous == Double.MAX_VALUE) {
+            return null;
+        }
+        double improvement = previous - current;
+        return improvement < delta * Math.abs(previous) ? StopReason.CONVERGED : null;
+    }
+
+    @Override
+    public void reset() {
+        checks = 0;
+    }
+}
@@ -0,0 +1,90 @@
+package org.fog.test.perfeval;
+
+import java.util.SplittableRandom;
+
+import static org.fog.test.perfeval.Constants.*;
+
+/**
+ * Sine Cosine Algorithm: agents oscillate around the best solution with a shrinking amplitude.
+ */
+public class SCAOptimizer extends PopulationOptimizer {
+    private Population agents; // Agents (solutions), updated in place
+    private SplittableRandom[] agentRandoms; // One stream per agent, used by its position updates
+
+    public SCAOptimizer() {
+        this(RandomStreams.forName("SCA"));
+    }
+
+    public SCAOptimizer(SplittableRandom random) {
+        super(random);
+    }
+
+    public SCAOptimizer(SplittableRandom random, SchedulerConfig config) {
+        super(random, config);
+    }
+
+    @Override
+    public String getName() {
+        return "SCA";
+    }
+
+    @Override
+    protected void prepareSearch() {
+        // Score the initial agents so the first update has a best solution to move towards
+        evaluateAgents();
+        publishInitialBest();
+    }
+
+    @Override
+    protected void initializePopulation() {
+        agents = new Population(config.getPopulationSize(), numTasks, numVMs);
+        agentRandoms = RandomStreams.split(random, config.getPopulationSize());
+
+        for (int i = 0; i < config.getPopulationSize(); i++) {
+            randomize(agents, i);
+        }
+    }
+
+    @Override
+    protected Population getPopulation() {
+        return agents;
+    }
+
+    @Override
+    protected void runIteration(int iter) {
+        // Update the position of search agents using Sine and Cosine functions
+        updateAgents(iter);
+
+        // Evaluate fitness of each agent
+        evaluateAgents();
+    }
+
+    private void evaluateAgents() {
+        evaluatePopulation(agents);
+    }
+
+    private void updateAgents(int currentIteration) {
+        double a = 2;
+        double r1 = a - currentIteration * ((a) / config.getMaxIterations());  // r1 decreases linearly from a to 0
+
+        GeneArray genes = agents.genes();
+
+        for (int i = 0; i < agents.size(); i++) {
+            int offset = agents.offset(i);
+            SplittableRandom agentRandom = agentRandoms[i];
+            for (int j = 0; j < numTasks; j++) {
+                int agent = genes.get(offset + j);
+                double r2 = (2 * Math.PI) * agentRandom.nextDouble();
+                double r3 = 2 * agentRandom.nextDouble();
+                double r4 = agentRandom.nextDouble();
+
+                if (r4 < 0.5) {
+                    agent = agent + (int)(r1 * Math.sin(r2) * Math.abs(r3 * bestSolution[j] - agent));
+                } else {
+                    agent = agent + (int)(r1 * Math.cos(r2) * Math.abs(r3 * bestSolution[j] - agent));
+                }
+                genes.set(offset + j, clamp(agent));  // Ensure the agent position is within valid bounds
+            }
+        }
+    }
+}
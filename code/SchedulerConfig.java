@@ -0,0 +1,499 @@
+package org.fog.test.perfeval;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+import static org.fog.test.perfeval.Constants.*;
+
+/**
+ * Per-run tuning of the schedulers: population size, iteration budget, IMMPA's FI, PR and PIT, the
+ * energy weight ALPHA, evaluation threads, the random seed, the workload TaskSchedulingSimulation
+ * builds, the opt-in local search, heuristic seeding and VM-type aggregation, and the early-stopping
+ * policies, wall-clock and evaluation budgets and anytime deadline. Immutable; the
+ * with methods return a changed copy, so one config can be shared by every broker of a run and a
+ * sweep can derive its points from a base config.
+ *
+ * The defaults are the values in Constants. load(args) overlays, in this order, a properties file
+ * (a flat YAML file of "key: value" lines reads the same way), system properties prefixed with
+ * "scheduler." and --key=value arguments. Keys are the getter names without "get" or "is", e.g.
+ * populationSize or cloudletLengths1; int arrays are comma-separated.
+ */
+public final class SchedulerConfig {
+    public static final String SYSTEM_PROPERTY_PREFIX = "scheduler.";
+    public static final String CONFIG_FILE_KEY = "config"; // --config=path or -Dscheduler.config=path
+
+    private static final SchedulerConfig DEFAULTS = new Builder().build();
+
+    private final int maxIterations;
+    private final int populationSize;
+    private final int fi; // IMMPA: failures before a predator is re-initialized
+    private final int pr; // IMMPA: mutation rate towards the best solution
+    private final int pit; // IMMPA: iterations between two re-initializations of half the population
+    private final double alpha; // Weight of energy against makespan in the fitness
+    private final int evaluationThreads; // 1 = sequential, 0 = common fork-join pool, n > 1 = n threads
+    private final long randomSeed;
+    private final int vmCount; // VMs of the first simulation
+    private final int vmCount2; // VMs of the second simulation
+    private final int[] cloudletLengths1; // Cloudlet lengths of the first simulation, in MI
+    private final int[] cloudletLengths2; // Cloudlet lengths of the second simulation, in MI
+    private final int localSearchMoves; // Single-task moves tried on the best solution before it is returned; 0 = off
+    private final double seededFraction; // Share of each initial population built by the heuristics; 0 = all random
+    private final boolean aggregateVmTypes; // Search over VM types instead of single VMs, a relaxation; off by default
+    private final int noImprovementIterations; // Stop after this many iterations without a better solution; 0 = off
+    private final double convergenceDelta; // Stop when the best fitness improved by less than this fraction...
+    private final int convergenceWindow; // ...over this many iterations; 0 delta = off
+    private final long timeBudgetMs; // Stop after this much wall-clock time; 0 = off
+    private final long evaluationBudget; // Stop after this many fitness evaluations; 0 = off
+    private final long deadlineMicros; // Anytime deadline: return the best solution so far after this long; 0 = off
+
+    private SchedulerConfig(Builder builder) {
+        this.maxIterations = builder.maxIterations;
+        this.populationSize = builder.populationSize;
+        this.fi = builder.fi;
+        this.pr = builder.pr;
+        this.pit = builder.pit;
+        this.alpha = builder.alpha;
+        this.evaluationThreads = builder.evaluationThreads;
+        this.randomSeed = builder.randomSeed;
+        this.vmCount = builder.vmCount;
+        this.vmCount2 = builder.vmCount2;
+        this.cloudletLengths1 = builder.cloudletLengths1;
+        this.cloudletLengths2 = builder.cloudletLengths2;
+        this.localSearchMoves = builder.localSearchMoves;
+        this.seededFraction = builder.seededFraction;
+        this.aggregateVmTypes = builder.aggregateVmTypes;
+        this.noImprovementIterations = builder.noImprovementIterations;
+        this.convergenceDelta = builder.convergenceDelta;
+        this.convergenceWindow = builder.convergenceWindow;
+        this.timeBudgetMs = builder.timeBudgetMs;
+        this.evaluationBudget = builder.evaluationBudget;
+        this.deadlineMicros = builder.deadlineMicros;
+    }
+
+    /**
+     * The values compiled into Constants.
+     */
+    public static SchedulerConfig defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Defaults, overridden by the file named by --config or the scheduler.config system property,
+     * then by scheduler.* system properties, then by the --key=value arguments in order.
+     */
+    public static SchedulerConfig load(String... args) {
+        String file = System.getProperty(SYSTEM_PROPERTY_PREFIX + CONFIG_FILE_KEY);
+        for (String arg : args) {
+            if (key(arg).equals(CONFIG_FILE_KEY)) {
+                file = value(arg);
+            }
+        }
+
+        SchedulerConfig config = DEFAULTS;
+        if (file != null) {
+            config = config.with(readProperties(Paths.get(file)));
+        }
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith(SYSTEM_PROPERTY_PREFIX) && !name.equals(SYSTEM_PROPERTY_PREFIX + CONFIG_FILE_KEY)) {
+                config = config.with(name.substring(SYSTEM_PROPERTY_PREFIX.length()), System.getProperty(name));
+            }
+        }
+        for (String arg : args) {
+            if (!key(arg).equals(CONFIG_FILE_KEY)) {
+                config = config.with(key(arg), value(arg));
+            }
+        }
+        return config;
+    }
+
+    /**
+     * Defaults overridden by a properties (or flat YAML) file.
+     */
+    public static SchedulerConfig fromFile(Path path) {
+        return DEFAULTS.with(readProperties(path));
+    }
+
+    /**
+     * This config with every key of the properties overridden.
+     */
+    public SchedulerConfig with(Properties properties) {
+        SchedulerConfig config = this;
+        for (String key : properties.stringPropertyNames()) {
+            config = config.with(key, properties.getProperty(key));
+        }
+        return config;
+    }
+
+    /**
+     * This config with one setting overridden, the value given as text.
+     */
+    public SchedulerConfig with(String key, String value) {
+        String text = value.trim();
+        switch (key) {
+            case "maxIterations":
+                return withMaxIterations(parseInt(key, text, 1));
+            case "populationSize":
+                return withPopulationSize(parseInt(key, text, 1));
+            case "fi":
+                int fi = parseInt(key, text, 0);
+                return copy(builder -> builder.fi = fi);
+            case "pr":
+                int pr = parseInt(key, text, 0);
+                return copy(builder -> builder.pr = pr);
+            case "pit":
+                int pit = parseInt(key, text, 1);
+                return copy(builder -> builder.pit = pit);
+            case "alpha":
+                return withAlpha(parseDouble(key, text));
+            case "evaluationThreads":
+                return withEvaluationThreads(parseInt(key, text, 0));
+            case "randomSeed":
+                return withRandomSeed(parseLong(key, text));
+            case "vmCount":
+                int vmCount = parseInt(key, text, 1);
+                return copy(builder -> builder.vmCount = vmCount);
+            case "vmCount2":
+                int vmCount2 = parseInt(key, text, 1);
+                return copy(builder -> builder.vmCount2 = vmCount2);
+            case "cloudletLengths1":
+                int[] cloudletLengths1 = parseLengths(key, text);
+                return copy(builder -> builder.cloudletLengths1 = cloudletLengths1);
+            case "cloudletLengths2":
+                int[] cloudletLengths2 = parseLengths(key, text);
+                return copy(builder -> builder.cloudletLengths2 = cloudletLengths2);
+            case "localSearchMoves":
+                return withLocalSearchMoves(parseInt(key, text, 0));
+            case "seededFraction":
+                return withSeededFraction(parseDouble(key, text));
+            case "aggregateVmTypes":
+                return withAggregateVmTypes(parseBoolean(key, text));
+            case "noImprovementIterations":
+                int noImprovementIterations = parseInt(key, text, 0);
+                return copy(builder -> builder.noImprovementIterations = noImprovementIterations);
+            case "convergenceDelta":
+                double convergenceDelta = parseDouble(key, text);
+                if (!(convergenceDelta >= 0)) {
+                    throw new IllegalArgumentException("convergenceDelta must be at least 0: " + convergenceDelta);
+                }
+                return copy(builder -> builder.convergenceDelta = convergenceDelta);
+            case "convergenceWindow":
+                int convergenceWindow = parseInt(key, text, 1);
+                return copy(builder -> builder.convergenceWindow = convergenceWindow);
+            case "timeBudgetMs":
+                return withTimeBudgetMs(parseLong(key, text));
+            case "evaluationBudget":
+                return withEvaluationBudget(parseLong(key, text));
+            case "deadlineMicros":
+                return withDeadlineMicros(parseLong(key, text));
+            default:
+                throw new IllegalArgumentException("Unknown setting: " + key);
+        }
+    }
+
+    public SchedulerConfig withMaxIterations(int maxIterations) {
+        requireAtLeast("maxIterations", maxIterations, 1);
+        return copy(builder -> builder.maxIterations = maxIterations);
+    }
+
+    public SchedulerConfig withPopulationSize(int populationSize) {
+        requireAtLeast("populationSize", populationSize, 1);
+        return copy(builder -> builder.populationSize = populationSize);
+    }
+
+    public SchedulerConfig withAlpha(double alpha) {
+        if (!(alpha >= 0 && alpha <= 1)) {
+            throw new IllegalArgumentException("alpha must be between 0 and 1: " + alpha);
+        }
+        return copy(builder -> builder.alpha = alpha);
+    }
+
+    public SchedulerConfig withEvaluationThreads(int evaluationThreads) {
+        requireAtLeast("evaluationThreads", evaluationThreads, 0);
+        return copy(builder -> builder.evaluationThreads = evaluationThreads);
+    }
+
+    public SchedulerConfig withRandomSeed(long randomSeed) {
+        return copy(builder -> builder.randomSeed = randomSeed);
+    }
+
+    public SchedulerConfig withLocalSearchMoves(int localSearchMoves) {
+        requireAtLeast("localSearchMoves", localSearchMoves, 0);
+        return copy(builder -> builder.localSearchMoves = localSearchMoves);
+    }
+
+    public SchedulerConfig withSeededFraction(double seededFraction) {
+        if (!(seededFraction >= 0 && seededFraction <= 1)) {
+            throw new IllegalArgumentException("seededFraction must be between 0 and 1: " + seededFraction);
+        }
+        return copy(builder -> builder.seededFraction = seededFraction);
+    }
+
+    public SchedulerConfig withAggregateVmTypes(boolean aggregateVmTypes) {
+        return copy(builder -> builder.aggregateVmTypes = aggregateVmTypes);
+    }
+
+    public SchedulerConfig withTimeBudgetMs(long timeBudgetMs) {
+        requireAtLeast("timeBudgetMs", timeBudgetMs, 0);
+        return copy(builder -> builder.timeBudgetMs = timeBudgetMs);
+    }
+
+    public SchedulerConfig withEvaluationBudget(long evaluationBudget) {
+        requireAtLeast("evaluationBudget", evaluationBudget, 0);
+        return copy(builder -> builder.evaluationBudget = evaluationBudget);
+    }
+
+    public SchedulerConfig withDeadlineMicros(long deadlineMicros) {
+        requireAtLeast("deadlineMicros", deadlineMicros, 0);
+        return copy(builder -> builder.deadlineMicros = deadlineMicros);
+    }
+
+    public int getMaxIterations() {
+        return maxIterations;
+    }
+
+    public int getPopulationSize() {
+        return populationSize;
+    }
+
+    public int getFi() {
+        return fi;
+    }
+
+    public int getPr() {
+        return pr;
+    }
+
+    public int getPit() {
+        return pit;
+    }
+
+    public double getAlpha() {
+        return alpha;
+    }
+
+    public int getEvaluationThreads() {
+        return evaluationThreads;
+    }
+
+    public long getRandomSeed() {
+        return randomSeed;
+    }
+
+    public int getVmCount() {
+        return vmCount;
+    }
+
+    public int getVmCount2() {
+        return vmCount2;
+    }
+
+    public int[] getCloudletLengths1() {
+        return cloudletLengths1.clone();
+    }
+
+    public int[] getCloudletLengths2() {
+        return cloudletLengths2.clone();
+    }
+
+    public int getLocalSearchMoves() {
+        return localSearchMoves;
+    }
+
+    public double getSeededFraction() {
+        return seededFraction;
+    }
+
+    public boolean isAggregateVmTypes() {
+        return aggregateVmTypes;
+    }
+
+    public int getNoImprovementIterations() {
+        return noImprovementIterations;
+    }
+
+    public double getConvergenceDelta() {
+        return convergenceDelta;
+    }
+
+    public int getConvergenceWindow() {
+        return convergenceWindow;
+    }
+
+    public long getTimeBudgetMs() {
+        return timeBudgetMs;
+    }
+
+    public long getEvaluationBudget() {
+        return evaluationBudget;
+    }
+
+    public long getDeadlineMicros() {
+        return deadlineMicros;
+    }
+
+    /**
+     * Stream for one named user, e.g. a broker, derived from this config's seed.
+     */
+    public SplittableRandom randomStream(String name) {
+        return RandomStreams.forName(randomSeed, name);
+    }
+
+    @Override
+    public String toString() {
+        return "maxIterations=" + maxIterations + " populationSize=" + populationSize + " fi=" + fi + " pr=" + pr
+                + " pit=" + pit + " alpha=" + alpha + " evaluationThreads=" + evaluationThreads + " randomSeed=" + randomSeed
+                + " vmCount=" + vmCount + " vmCount2=" + vmCount2 + " cloudletLengths1=" + Arrays.toString(cloudletLengths1)
+                + " cloudletLengths2=" + Arrays.toString(cloudletLengths2) + " localSearchMoves=" + localSearchMoves
+                + " seededFraction=" + seededFraction + " aggregateVmTypes=" + aggregateVmTypes
+                + " noImprovementIterations=" + noImprovementIterations + " convergenceDelta=" + convergenceDelta
+                + " convergenceWindow=" + convergenceWindow + " timeBudgetMs=" + timeBudgetMs
+                + " evaluationBudget=" + evaluationBudget + " deadlineMicros=" + deadlineMicros;
+    }
+
+    // This config with the settings change assigns; the only way a config is derived from another
+    private SchedulerConfig copy(Consumer<Builder> change) {
+        Builder builder = new Builder(this);
+        change.accept(builder);
+        return builder.build();
+    }
+
+    // Mutable copy of every setting, starting from the values in Constants
+    private static final class Builder {
+        int maxIterations = MAX_ITERATION;
+        int populationSize = PREDATORS_NO;
+        int fi = FI;
+        int pr = PR;
+        int pit = PIT;
+        double alpha = ALPHA;
+        int evaluationThreads = EVALUATION_THREADS;
+        long randomSeed = RANDOM_SEED;
+        int vmCount = NO_OF_VMS;
+        int vmCount2 = NO_OF_VMS2;
+        int[] cloudletLengths1 = CLOUDLET_LENGTH1.clone();
+        int[] cloudletLengths2 = CLOUDLET_LENGTH2.clone();
+        int localSearchMoves = LOCAL_SEARCH_MOVES;
+        double seededFraction = SEEDED_FRACTION;
+        boolean aggregateVmTypes = AGGREGATE_VM_TYPES;
+        int noImprovementIterations = NO_IMPROVEMENT_ITERATIONS;
+        double convergenceDelta = CONVERGENCE_DELTA;
+        int convergenceWindow = CONVERGENCE_WINDOW;
+        long timeBudgetMs = TIME_BUDGET_MS;
+        long evaluationBudget = EVALUATION_BUDGET;
+        long deadlineMicros = DEADLINE_MICROS;
+
+        Builder() {
+        }
+
+        Builder(SchedulerConfig config) {
+            maxIterations = config.maxIterations;
+            populationSize = config.populationSize;
+            fi = config.fi;
+            pr = config.pr;
+            pit = config.pit;
+            alpha = config.alpha;
+            evaluationThreads = config.evaluationThreads;
+            randomSeed = config.randomSeed;
+            vmCount = config.vmCount;
+            vmCount2 = config.vmCount2;
+            cloudletLengths1 = config.cloudletLengths1; // Never modified, so safe to share
+            cloudletLengths2 = config.cloudletLengths2;
+            localSearchMoves = config.localSearchMoves;
+            seededFraction = config.seededFraction;
+            aggregateVmTypes = config.aggregateVmTypes;
+            noImprovementIterations = config.noImprovementIterations;
+            convergenceDelta = config.convergenceDelta;
+            convergenceWindow = config.convergenceWindow;
+            timeBudgetMs = config.timeBudgetMs;
+            evaluationBudget = config.evaluationBudget;
+            deadlineMicros = config.deadlineMicros;
+        }
+
+        SchedulerConfig build() {
+            return new SchedulerConfig(this);
+        }
+    }
+
+    private static Properties readProperties(Path path) {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read scheduler config " + path, e);
+        }
+        return properties;
+    }
+
+    // "--key=value" -> "key"
+    private static String key(String arg) {
+        int equals = arg.indexOf('=');
+        if (!arg.startsWith("--") || equals < 0) {
+            throw new IllegalArgumentException("Expected --key=value: " + arg);
+        }
+        return arg.substring(2, equals);
+    }
+
+    private static String value(String arg) {
+        return arg.substring(arg.indexOf('=') + 1);
+    }
+
+    private static int parseInt(String key, String text, int min) {
+        int value;
+        try {
+            value = Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for " + key + ": " + text, e);
+        }
+        requireAtLeast(key, value, min);
+        return value;
+    }
+
+    private static long parseLong(String key, String text) {
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for " + key + ": " + text, e);
+        }
+    }
+
+    private static double parseDouble(String key, String text) {
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for " + key + ": " + text, e);
+        }
+    }
+
+    private static boolean parseBoolean(String key, String text) {
+        if (text.equalsIgnoreCase("true")) {
+            return true;
+        }
+        if (text.equalsIgnoreCase("false")) {
+            return false;
+        }
+        throw new IllegalArgumentException("Invalid value for " + key + ": " + text + " (expected true or false)");
+    }
+
+    private static int[] parseLengths(String key, String text) {
+        String[] parts = text.split(",");
+        int[] lengths = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            lengths[i] = parseInt(key, parts[i].trim(), 1);
+        }
+        return lengths;
+    }
+
+    private static void requireAtLeast(String key, long value, long min) {
+        if (value < min) {
+            throw new IllegalArgumentException(key + " must be at least " + min + ": " + value);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package org.fog.test.perfeval;
+
+/**
+ * A scheduling algorithm that runs on its own, without a CloudSim simulation: it takes a
+ * {@link SchedulingProblem} and returns the best assignment it found.
+ */
+public interface SchedulingOptimizer {
+
+    String getName();
+
+    SchedulingResult optimize(SchedulingProblem problem);
+
+    /**
+     * Best solution of the current or last run, or null before one was found. Safe to call from
+     * any thread while optimize() is running.
+     */
+    SolutionSnapshot getBestSnapshot();
+}
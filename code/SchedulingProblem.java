@@ -0,0 +1,83 @@
+package org.fog.test.perfeval;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.Vm;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A task-to-VM scheduling problem reduced to primitives: the length of every task in MI and the
+ * MIPS and PE count of every VM. Optimizers work on this alone, without any CloudSim objects.
+ *
+ * VMs may still be busy with earlier work: a VM's ready time is the number of seconds until it
+ * can start on the tasks of this problem (0 unless given).
+ */
+public class SchedulingProblem {
+    private final long[] taskLengths;
+    private final double[] vmMips;
+    private final int[] vmPes;
+    private final double[] vmReadyTimes;
+
+    public SchedulingProblem(long[] taskLengths, double[] vmMips) {
+        this(taskLengths, vmMips, filledWithOnes(vmMips.length));
+    }
+
+    public SchedulingProblem(long[] taskLengths, double[] vmMips, int[] vmPes) {
+        this(taskLengths, vmMips, vmPes, new double[vmMips.length]);
+    }
+
+    public SchedulingProblem(long[] taskLengths, double[] vmMips, int[] vmPes, double[] vmReadyTimes) {
+        if (vmMips.length != vmPes.length || vmMips.length != vmReadyTimes.length) {
+            throw new IllegalArgumentException("vmMips, vmPes and vmReadyTimes must have the same length");
+        }
+        this.taskLengths = taskLengths.clone();
+        this.vmMips = vmMips.clone();
+        this.vmPes = vmPes.clone();
+        this.vmReadyTimes = vmReadyTimes.clone();
+    }
+
+    public static SchedulingProblem fromCloudSim(List<? extends Cloudlet> cloudletList, List<? extends Vm> vmList) {
+        long[] taskLengths = new long[cloudletList.size()];
+        for (int i = 0; i < taskLengths.length; i++) {
+            taskLengths[i] = cloudletList.get(i).getCloudletLength();
+        }
+        double[] vmMips = new double[vmList.size()];
+        int[] vmPes = new int[vmList.size()];
+        for (int i = 0; i < vmMips.length; i++) {
+            vmMips[i] = vmList.get(i).getMips();
+            vmPes[i] = vmList.get(i).getNumberOfPes();
+        }
+        return new SchedulingProblem(taskLengths, vmMips, vmPes);
+    }
+
+    public int getNumTasks() {
+        return taskLengths.length;
+    }
+
+    public int getNumVMs() {
+        return vmMips.length;
+    }
+
+    public long getTaskLength(int task) {
+        return taskLengths[task];
+    }
+
+    public double getVmMips(int vm) {
+        return vmMips[vm];
+    }
+
+    public int getVmPes(int vm) {
+        return vmPes[vm];
+    }
+
+    public double getVmReadyTime(int vm) {
+        return vmReadyTimes[vm];
+    }
+
+    private static int[] filledWithOnes(int length) {
+        int[] ones = new int[length];
+        Arrays.fill(ones, 1);
+        return ones;
+    }
+}
@@ -0,0 +1,110 @@
+package org.fog.test.perfeval;
+
+/**
+ * Outcome of one optimizer run: the task-to-VM assignment and its metrics.
+ */
+public class SchedulingResult {
+    private final String algorithm;
+    private final int[] assignment;
+    private final double fitness;
+    private final double makespan;
+    private final double totalEnergyConsumption;
+    private final double totalFlowTime;
+    private final double co2Emission;
+    private final int iterations;
+    private final long evaluations;
+    private final long elapsedNanos;
+    private final StopReason stopReason;
+    private final long cacheHits;
+
+    private SchedulingResult(String algorithm, int[] assignment, double fitness, double makespan, double totalEnergyConsumption,
+                             double totalFlowTime, double co2Emission, int iterations, long evaluations, long elapsedNanos, StopReason stopReason, long cacheHits) {
+        this.algorithm = algorithm;
+        this.assignment = assignment;
+        this.fitness = fitness;
+        this.makespan = makespan;
+        this.totalEnergyConsumption = totalEnergyConsumption;
+        this.totalFlowTime = totalFlowTime;
+        this.co2Emission = co2Emission;
+        this.iterations = iterations;
+        this.evaluations = evaluations;
+        this.elapsedNanos = elapsedNanos;
+        this.stopReason = stopReason;
+        this.cacheHits = cacheHits;
+    }
+
+    /**
+     * Scores the assignment against the context and packages it with the run statistics.
+     */
+    public static SchedulingResult of(String algorithm, int[] assignment, FitnessContext context, int iterations, long evaluations,
+                                      long elapsedNanos, StopReason stopReason, long cacheHits) {
+        double fitness = context.evaluate(assignment);
+        double makespan = context.calculateMakespan(assignment);
+        double totalEnergyConsumption = context.calculateTotalEnergyConsumption(assignment, makespan);
+        double totalFlowTime = context.calculateFlowTime(assignment);
+        double co2Emission = Common.calculateCO2Emission(totalEnergyConsumption);
+        return new SchedulingResult(algorithm, assignment.clone(), fitness, makespan, totalEnergyConsumption,
+                totalFlowTime, co2Emission, iterations, evaluations, elapsedNanos, stopReason, cacheHits);
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * VM index of every task; the caller gets its own copy.
+     */
+    public int[] getAssignment() {
+        return assignment.clone();
+    }
+
+    public int getAssignedVm(int task) {
+        return assignment[task];
+    }
+
+    public double getFitness() {
+        return fitness;
+    }
+
+    public double getMakespan() {
+        return makespan;
+    }
+
+    public double getTotalEnergyConsumption() {
+        return totalEnergyConsumption;
+    }
+
+    public double getTotalFlowTime() {
+        return totalFlowTime;
+    }
+
+    public double getCo2Emission() {
+        return co2Emission;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Evaluations answered by the fitness cache instead of the fitness function.
+     */
+    public long getCacheHits() {
+        return cacheHits;
+    }
+
+    /**
+     * Why the run ended, or null if the result did not come from an optimizer run.
+     */
+    public StopReason getStopReason() {
+        return stopReason;
+    }
+}
@@ -0,0 +1,15 @@
+package org.fog.test.perfeval;
+
+/**
+ * Read-only view of a running search, as seen by a {@link StoppingPolicy}.
+ */
+public interface SearchProgress {
+
+    int getIterations(); // Iterations completed so far
+
+    long getEvaluations(); // Fitness evaluations performed so far
+
+    long getElapsedNanos(); // Monotonic time since the run started
+
+    double getBestFitness(); // Best fitness found so far, Double.MAX_VALUE before the first evaluation
+}
@@ -0,0 +1,54 @@
+package org.fog.test.perfeval;
+
+/**
+ * Greedy list-scheduling heuristics used to seed part of an initial population, so the search
+ * starts from good schedules instead of only random ones. Each builds a complete schedule in one
+ * pass with {@link HeuristicScheduler}.
+ */
+public enum SeedingHeuristic {
+    MIN_MIN, // Shortest task first, each on the VM where it completes earliest
+    MAX_MIN, // Longest task first, each on the VM where it completes earliest
+    LPT, // Longest task first, each on the VM that becomes free first
+    MCT, // Tasks in submission order, each on the VM where it completes earliest
+    ENERGY_GREEDY; // Shortest task first, each on the slowest VM that meets a makespan target; best target kept
+
+    // Every task draws power for the whole makespan in proportion to its VM's MIPS^2, whatever its
+    // length, so energy is lowest with many short tasks on slow VMs and the few long ones on fast
+    // VMs. ENERGY_GREEDY tries makespan targets from the balanced makespan up to twice it.
+    private static final int MAKESPAN_TARGETS = 11;
+
+    public int[] schedule(FitnessContext context) {
+        HeuristicScheduler scheduler = new HeuristicScheduler(context);
+        switch (this) {
+            case MIN_MIN:
+                return scheduler.earliestCompletion(scheduler.tasksByLength(false));
+            case MAX_MIN:
+                return scheduler.earliestCompletion(scheduler.tasksByLength(true));
+            case LPT:
+                return scheduler.earliestReady(scheduler.tasksByLength(true));
+            case MCT:
+                return scheduler.earliestCompletion(scheduler.tasksInOrder());
+            case ENERGY_GREEDY:
+                return energyGreedy(context, scheduler);
+            default:
+                throw new AssertionError(this);
+        }
+    }
+
+    private static int[] energyGreedy(FitnessContext context, HeuristicScheduler first) {
+        int[] tasks = first.tasksByLength(false);
+        double balanced = first.balancedMakespan();
+        int[] best = null;
+        double bestFitness = Double.MAX_VALUE;
+        for (int t = 0; t < MAKESPAN_TARGETS; t++) {
+            HeuristicScheduler scheduler = t == 0 ? first : new HeuristicScheduler(context);
+            int[] schedule = scheduler.slowestWithin(tasks, balanced * (1 + (double) t / (MAKESPAN_TARGETS - 1)));
+            double fitness = context.evaluate(schedule);
+            if (fitness < bestFitness) {
+                bestFitness = fitness;
+                best = schedule;
+            }
+        }
+        return best;
+    }
+}
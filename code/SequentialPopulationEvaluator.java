@@ -0,0 +1,17 @@
+package org.fog.test.perfeval;
+
+/**
+ * Scores the population on the calling thread with {@link FitnessKernel#evaluateBatch}.
+ */
+public class SequentialPopulationEvaluator implements PopulationEvaluator {
+    private final FitnessKernel kernel;
+
+    public SequentialPopulationEvaluator(FitnessContext context) {
+        this.kernel = context.newKernel();
+    }
+
+    @Override
+    public void evaluate(Population population, int from, int to) {
+        kernel.evaluateBatch(population, from, to, population.fitnessValues());
+    }
+}
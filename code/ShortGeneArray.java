@@ -0,0 +1,53 @@
+package org.fog.test.perfeval;
+
+/**
+ * One unsigned short per gene, for up to 65536 VMs.
+ */
+public class ShortGeneArray implements GeneArray {
+    private final short[] genes;
+
+    public ShortGeneArray(int length) {
+        this.genes = new short[length];
+    }
+
+    @Override
+    public int get(int index) {
+        return genes[index] & 0xFFFF;
+    }
+
+    @Override
+    public void set(int index, int vm) {
+        genes[index] = (short) vm;
+    }
+
+    @Override
+    public int length() {
+        return genes.length;
+    }
+
+    @Override
+    public GeneArray newArray(int length) {
+        return new ShortGeneArray(length);
+    }
+
+    @Override
+    public long sizeInBytes() {
+        return 2L * genes.length;
+    }
+
+    @Override
+    public void decode(int from, int[] target, int targetFrom, int count) {
+        for (int i = 0; i < count; i++) {
+            target[targetFrom + i] = genes[from + i] & 0xFFFF;
+        }
+    }
+
+    @Override
+    public void copyTo(int from, GeneArray target, int targetFrom, int count) {
+        if (target instanceof ShortGeneArray) {
+            System.arraycopy(genes, from, ((ShortGeneArray) target).genes, targetFrom, count);
+        } else {
+            GeneArray.super.copyTo(from, target, targetFrom, count);
+        }
+    }
+}
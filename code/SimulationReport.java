@@ -0,0 +1,154 @@
+package org.fog.test.perfeval;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Outcome of one {@link SimulationScenario}: what the simulation delivered and, if its broker
+ * optimized the schedule, the schedule's metrics (NaN otherwise). Sessions hand reports across
+ * class loaders as bytes, see toBytes and fromBytes.
+ */
+public class SimulationReport {
+    private final String scenario;
+    private final String algorithm; // Empty if the broker did not optimize
+    private final int vmsCreated;
+    private final int cloudletsSubmitted;
+    private final int cloudletsReceived;
+    private final double simulatedTime; // CloudSim clock at the end of the simulation
+    private final long wallNanos;
+    private final double fitness;
+    private final double makespan;
+    private final double totalEnergyConsumption;
+    private final double totalFlowTime;
+    private final double co2Emission;
+    private final long evaluations;
+
+    /**
+     * Report of a simulation whose broker produced result, or null if it did not optimize.
+     */
+    public SimulationReport(String scenario, int vmsCreated, int cloudletsSubmitted, int cloudletsReceived,
+                            double simulatedTime, long wallNanos, SchedulingResult result) {
+        this(scenario, result == null ? "" : result.getAlgorithm(), vmsCreated, cloudletsSubmitted, cloudletsReceived,
+                simulatedTime, wallNanos,
+                result == null ? Double.NaN : result.getFitness(),
+                result == null ? Double.NaN : result.getMakespan(),
+                result == null ? Double.NaN : result.getTotalEnergyConsumption(),
+                result == null ? Double.NaN : result.getTotalFlowTime(),
+                result == null ? Double.NaN : result.getCo2Emission(),
+                result == null ? 0 : result.getEvaluations());
+    }
+
+    private SimulationReport(String scenario, String algorithm, int vmsCreated, int cloudletsSubmitted,
+                             int cloudletsReceived, double simulatedTime, long wallNanos, double fitness,
+                             double makespan, double totalEnergyConsumption, double totalFlowTime,
+                             double co2Emission, long evaluations) {
+        this.scenario = scenario;
+        this.algorithm = algorithm;
+        this.vmsCreated = vmsCreated;
+        this.cloudletsSubmitted = cloudletsSubmitted;
+        this.cloudletsReceived = cloudletsReceived;
+        this.simulatedTime = simulatedTime;
+        this.wallNanos = wallNanos;
+        this.fitness = fitness;
+        this.makespan = makespan;
+        this.totalEnergyConsumption = totalEnergyConsumption;
+        this.totalFlowTime = totalFlowTime;
+        this.co2Emission = co2Emission;
+        this.evaluations = evaluations;
+    }
+
+    byte[] toBytes() {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            out.writeUTF(scenario);
+            out.writeUTF(algorithm);
+            out.writeInt(vmsCreated);
+            out.writeInt(cloudletsSubmitted);
+            out.writeInt(cloudletsReceived);
+            out.writeDouble(simulatedTime);
+            out.writeLong(wallNanos);
+            out.writeDouble(fitness);
+            out.writeDouble(makespan);
+            out.writeDouble(totalEnergyConsumption);
+            out.writeDouble(totalFlowTime);
+            out.writeDouble(co2Emission);
+            out.writeLong(evaluations);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    static SimulationReport fromBytes(byte[] bytes) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            return new SimulationReport(in.readUTF(), in.readUTF(), in.readInt(), in.readInt(), in.readInt(),
+                    in.readDouble(), in.readLong(), in.readDouble(), in.readDouble(), in.readDouble(), in.readDouble(),
+                    in.readDouble(), in.readLong());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public String getScenario() {
+        return scenario;
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public int getVmsCreated() {
+        return vmsCreated;
+    }
+
+    public int getCloudletsSubmitted() {
+        return cloudletsSubmitted;
+    }
+
+    public int getCloudletsReceived() {
+        return cloudletsReceived;
+    }
+
+    public double getSimulatedTime() {
+        return simulatedTime;
+    }
+
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    public double getFitness() {
+        return fitness;
+    }
+
+    public double getMakespan() {
+        return makespan;
+    }
+
+    public double getTotalEnergyConsumption() {
+        return totalEnergyConsumption;
+    }
+
+    public double getTotalFlowTime() {
+        return totalFlowTime;
+    }
+
+    public double getCo2Emission() {
+        return co2Emission;
+    }
+
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s: %d VMs, %d/%d cloudlets by t=%.2f, fitness %.4f, makespan %.4f, energy %.4f,"
+                        + " %.1f ms", scenario, algorithm, vmsCreated, cloudletsReceived, cloudletsSubmitted,
+                simulatedTime, fitness, makespan, totalEnergyConsumption, wallNanos / 1e6);
+    }
+}
@@ -0,0 +1,14 @@
+package org.fog.test.perfeval;
+
+/**
+ * One complete CloudSim simulation, from CloudSim.init to stopSimulation, run inside a
+ * {@link SimulationSession}. Implementations need a public no-argument constructor: the session
+ * instantiates them by name in its own class loader.
+ */
+public interface SimulationScenario {
+
+    /**
+     * Runs the simulation described by args and reports it.
+     */
+    SimulationReport run(String[] args) throws Exception;
+}
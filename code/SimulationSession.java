@@ -0,0 +1,101 @@
+package org.fog.test.perfeval;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+/**
+ * An isolated CloudSim: a class loader of its own over the application class path, so CloudSim's
+ * static simulation state, the brokers and this package's classes are private to the session.
+ * Scenarios run in different sessions concurrently; scenarios of one session run one after the
+ * other, as CloudSim requires.
+ *
+ * A session keeps its classes loaded between runs, so after the first scenario its code is
+ * already JIT-compiled; {@link SimulationSessionPool} keeps a set of such warm sessions.
+ */
+public class SimulationSession implements AutoCloseable {
+    private final URLClassLoader loader;
+    private final Method entry;
+    private int runs;
+
+    /**
+     * Session over the java.class.path of this JVM.
+     */
+    public SimulationSession() {
+        this(classPathUrls(System.getProperty("java.class.path")));
+    }
+
+    /**
+     * Session over the given class path, which must hold this package and CloudSim.
+     */
+    public SimulationSession(URL[] classPath) {
+        loader = new URLClassLoader(classPath, ClassLoader.getPlatformClassLoader());
+        try {
+            Class<?> type = Class.forName(SimulationSessionEntry.class.getName(), true, loader);
+            entry = type.getDeclaredMethod("run", String.class, String[].class);
+            entry.setAccessible(true);
+        } catch (ReflectiveOperationException e) {
+            close();
+            throw new IllegalStateException("Class path does not hold the simulation classes", e);
+        }
+    }
+
+    /**
+     * Runs the scenario, a {@link SimulationScenario} class name, with args in this session.
+     */
+    public synchronized SimulationReport run(String scenarioClass, String... args) throws Exception {
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        thread.setContextClassLoader(loader);
+        try {
+            byte[] report = (byte[]) entry.invoke(null, scenarioClass, args);
+            runs++;
+            return SimulationReport.fromBytes(report);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw (Error) cause;
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    public SimulationReport run(Class<? extends SimulationScenario> scenario, String... args) throws Exception {
+        return run(scenario.getName(), args);
+    }
+
+    /**
+     * Scenarios this session has completed.
+     */
+    public synchronized int getRuns() {
+        return runs;
+    }
+
+    @Override
+    public void close() {
+        try {
+            loader.close();
+        } catch (IOException e) {
+            // Only jar handles are released here; nothing to recover
+        }
+    }
+
+    static URL[] classPathUrls(String classPath) {
+        String[] entries = classPath.split(File.pathSeparator);
+        URL[] urls = new URL[entries.length];
+        try {
+            for (int i = 0; i < entries.length; i++) {
+                urls[i] = new File(entries[i]).toURI().toURL();
+            }
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException("Invalid class path: " + classPath, e);
+        }
+        return urls;
+    }
+}
@@ -0,0 +1,17 @@
+package org.fog.test.perfeval;
+
+/**
+ * Entry point a {@link SimulationSession} calls inside its class loader. Only JDK types cross the
+ * loader boundary: the scenario goes in by name and the report comes back as bytes.
+ */
+final class SimulationSessionEntry {
+
+    private SimulationSessionEntry() {
+    }
+
+    static byte[] run(String scenarioClass, String[] args) throws Exception {
+        Class<?> type = Class.forName(scenarioClass, true, SimulationSessionEntry.class.getClassLoader());
+        SimulationScenario scenario = (SimulationScenario) type.getConstructor().newInstance();
+        return scenario.run(args).toBytes();
+    }
+}
@@ -0,0 +1,96 @@
+package org.fog.test.perfeval;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * A fixed set of {@link SimulationSession}s that runs submitted scenarios concurrently, each on
+ * whichever session is idle. Sessions are reused, so only the first scenario of each pays for
+ * class loading and JIT warm-up; warmUp pays it up front.
+ */
+public class SimulationSessionPool implements AutoCloseable {
+    private final List<SimulationSession> sessions = new ArrayList<>();
+    private final BlockingQueue<SimulationSession> idle;
+    private final ExecutorService executor;
+
+    /**
+     * Pool of size sessions over the java.class.path of this JVM.
+     */
+    public SimulationSessionPool(int size) {
+        this(size, SimulationSession::new);
+    }
+
+    /**
+     * Pool of size sessions made by factory. If one cannot be made, those made before it are closed.
+     */
+    SimulationSessionPool(int size, Supplier<SimulationSession> factory) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Need at least one session");
+        }
+        idle = new ArrayBlockingQueue<>(size);
+        try {
+            for (int i = 0; i < size; i++) {
+                SimulationSession session = factory.get();
+                sessions.add(session);
+                idle.add(session);
+            }
+        } catch (RuntimeException | Error e) {
+            for (SimulationSession session : sessions) {
+                session.close();
+            }
+            throw e;
+        }
+        executor = Executors.newFixedThreadPool(size);
+    }
+
+    /**
+     * Runs the scenario with args on the next idle session.
+     */
+    public Future<SimulationReport> submit(String scenarioClass, String... args) {
+        return executor.submit(() -> {
+            SimulationSession session = idle.take();
+            try {
+                return session.run(scenarioClass, args);
+            } finally {
+                idle.add(session);
+            }
+        });
+    }
+
+    public Future<SimulationReport> submit(Class<? extends SimulationScenario> scenario, String... args) {
+        return submit(scenario.getName(), args);
+    }
+
+    /**
+     * Runs the scenario once on every session, all at once, and waits for them; use a small
+     * scenario that exercises the same code as the real ones.
+     */
+    public void warmUp(String scenarioClass, String... args) throws InterruptedException, ExecutionException {
+        List<Future<SimulationReport>> runs = new ArrayList<>();
+        for (SimulationSession session : sessions) {
+            runs.add(executor.submit(() -> session.run(scenarioClass, args)));
+        }
+        for (Future<SimulationReport> run : runs) {
+            run.get();
+        }
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        for (SimulationSession session : sessions) {
+            session.close();
+        }
+    }
+}
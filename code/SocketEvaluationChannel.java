@@ -0,0 +1,58 @@
+package org.fog.test.perfeval;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+
+/**
+ * {@link EvaluationChannel} over a TCP socket. Each message is framed by its length, which must
+ * not exceed the channel's limit, Constants.EVALUATION_MAX_MESSAGE_BYTES unless given.
+ */
+public class SocketEvaluationChannel implements EvaluationChannel {
+    private final Socket socket;
+    private final int maxMessageBytes;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+
+    public SocketEvaluationChannel(Socket socket) throws IOException {
+        this(socket, Constants.EVALUATION_MAX_MESSAGE_BYTES);
+    }
+
+    public SocketEvaluationChannel(Socket socket, int maxMessageBytes) throws IOException {
+        this.socket = socket;
+        this.maxMessageBytes = maxMessageBytes;
+        socket.setTcpNoDelay(true); // Requests are small and latency-bound
+        this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    }
+
+    public static SocketEvaluationChannel connect(String host, int port) throws IOException {
+        return new SocketEvaluationChannel(new Socket(host, port));
+    }
+
+    @Override
+    public void send(byte[] message) throws IOException {
+        out.writeInt(message.length);
+        out.write(message);
+        out.flush();
+    }
+
+    @Override
+    public byte[] receive() throws IOException {
+        int length = in.readInt(); // EOFException once the peer closed
+        if (length < 0 || length > maxMessageBytes) {
+            throw new IOException("Message of " + length + " bytes, limit " + maxMessageBytes);
+        }
+        byte[] message = new byte[length];
+        in.readFully(message);
+        return message;
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+}
@@ -0,0 +1,215 @@
+package org.fog.test.perfeval;
+
+import java.util.Arrays;
+
+/**
+ * Bounded fitness cache keyed by the content of a solution, so equal assignments held in different
+ * arrays share one entry. Entries are found by a 64-bit Zobrist-style hash (the XOR of a random
+ * key per task/VM pair) and confirmed by a second 64-bit sum of the same keys, instead of keeping
+ * a copy of every solution. Both can be updated in O(1) when a single task moves.
+ *
+ * The table holds at most capacity entries and evicts with the CLOCK policy, so its memory use is
+ * fixed. Lookups and inserts allocate nothing. Not thread-safe.
+ */
+public class SolutionCache {
+    private final int numVMs;
+    private final int capacity;
+    private final int[] slots; // Linear-probing table of entry index + 1; 0 marks an empty slot
+    private final int slotMask;
+    private final long[] hashes; // Per entry
+    private final long[] checks;
+    private final double[] fitnesses;
+    private final boolean[] referenced; // CLOCK reference bits
+    private int size;
+    private int hand; // Next entry the CLOCK hand looks at
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public SolutionCache(int numVMs, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.numVMs = numVMs;
+        this.capacity = capacity;
+        int tableSize = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) << 1; // At most half full
+        this.slots = new int[tableSize];
+        this.slotMask = tableSize - 1;
+        this.hashes = new long[capacity];
+        this.checks = new long[capacity];
+        this.fitnesses = new double[capacity];
+        this.referenced = new boolean[capacity];
+    }
+
+    /**
+     * Writes the hash of the solution to keys[2 * index] and its check to keys[2 * index + 1].
+     */
+    public void hash(int[] solution, long[] keys, int index) {
+        hash(solution, 0, solution.length, keys, index);
+    }
+
+    /**
+     * Like hash(int[], long[], int) for the solution stored at genes[offset .. offset + numTasks).
+     */
+    public void hash(int[] genes, int offset, int numTasks, long[] keys, int index) {
+        long hash = 0;
+        long check = 0;
+        for (int task = 0; task < numTasks; task++) {
+            long key = key(task, genes[offset + task]);
+            hash ^= key;
+            check += key;
+        }
+        keys[2 * index] = hash;
+        keys[2 * index + 1] = check;
+    }
+
+    /**
+     * Like hash(int[], long[], int) for one individual of an encoded gene array.
+     */
+    public void hash(GeneArray genes, int offset, int numTasks, long[] keys, int index) {
+        long hash = 0;
+        long check = 0;
+        for (int task = 0; task < numTasks; task++) {
+            long key = key(task, genes.get(offset + task));
+            hash ^= key;
+            check += key;
+        }
+        keys[2 * index] = hash;
+        keys[2 * index + 1] = check;
+    }
+
+    /**
+     * Hash of the solution after moving one task from fromVm to toVm.
+     */
+    public long updateHash(long hash, int task, int fromVm, int toVm) {
+        return hash ^ key(task, fromVm) ^ key(task, toVm);
+    }
+
+    /**
+     * Check of the solution after moving one task from fromVm to toVm.
+     */
+    public long updateCheck(long check, int task, int fromVm, int toVm) {
+        return check - key(task, fromVm) + key(task, toVm);
+    }
+
+    /**
+     * Returns the cached fitness, or NaN if the solution is not in the cache.
+     */
+    public double lookup(long hash, long check) {
+        int entry = find(hash, check);
+        if (entry < 0) {
+            misses++;
+            return Double.NaN;
+        }
+        hits++;
+        referenced[entry] = true;
+        return fitnesses[entry];
+    }
+
+    /**
+     * Stores the fitness of a solution, evicting an entry if the cache is full.
+     */
+    public void put(long hash, long check, double fitness) {
+        int entry = find(hash, check);
+        if (entry >= 0) {
+            fitnesses[entry] = fitness;
+            referenced[entry] = true;
+            return;
+        }
+        if (size < capacity) {
+            entry = size++;
+        } else {
+            entry = evict();
+        }
+        hashes[entry] = hash;
+        checks[entry] = check;
+        fitnesses[entry] = fitness;
+        referenced[entry] = true;
+        int slot = home(hash);
+        while (slots[slot] != 0) {
+            slot = (slot + 1) & slotMask;
+        }
+        slots[slot] = entry + 1;
+    }
+
+    public void clear() {
+        Arrays.fill(slots, 0);
+        size = 0;
+        hand = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    private int find(long hash, long check) {
+        for (int slot = home(hash); slots[slot] != 0; slot = (slot + 1) & slotMask) {
+            int entry = slots[slot] - 1;
+            if (hashes[entry] == hash && checks[entry] == check) {
+                return entry;
+            }
+        }
+        return -1;
+    }
+
+    // CLOCK: skip (and clear) recently used entries, evict the first one that was not
+    private int evict() {
+        while (referenced[hand]) {
+            referenced[hand] = false;
+            hand = hand + 1 == capacity ? 0 : hand + 1;
+        }
+        int entry = hand;
+        hand = hand + 1 == capacity ? 0 : hand + 1;
+        removeSlot(entry);
+        evictions++;
+        return entry;
+    }
+
+    // Backward-shift deletion keeps every probe chain unbroken without tombstones
+    private void removeSlot(int entry) {
+        int slot = home(hashes[entry]);
+        while (slots[slot] != entry + 1) {
+            slot = (slot + 1) & slotMask;
+        }
+        slots[slot] = 0;
+        for (int next = (slot + 1) & slotMask; slots[next] != 0; next = (next + 1) & slotMask) {
+            int nextHome = home(hashes[slots[next] - 1]);
+            // Move the entry back if its home is not cyclically within (slot, next]
+            boolean inRange = slot <= next ? (slot < nextHome && nextHome <= next) : (slot < nextHome || nextHome <= next);
+            if (!inRange) {
+                slots[slot] = slots[next];
+                slots[next] = 0;
+                slot = next;
+            }
+        }
+    }
+
+    private int home(long hash) {
+        return (int) (hash ^ (hash >>> 32)) & slotMask;
+    }
+
+    // Random key of one task/VM pair, computed on the fly (splitmix64 finalizer) rather than tabulated
+    private long key(int task, int vm) {
+        long z = ((long) task * numVMs + vm + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
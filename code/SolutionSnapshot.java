@@ -0,0 +1,46 @@
+package org.fog.test.perfeval;
+
+/**
+ * Immutable copy of the best solution of a running search, safe to hand to other threads.
+ */
+public class SolutionSnapshot {
+    private final int[] assignment;
+    private final double fitness;
+    private final int iterations; // Iterations completed when the snapshot was taken
+    private final long elapsedNanos;
+    private final VmTypeReduction vmTypes; // Non-null if assignment holds VM types, expanded when read
+
+    public SolutionSnapshot(int[] assignment, double fitness, int iterations, long elapsedNanos) {
+        this(assignment, null, fitness, iterations, elapsedNanos);
+    }
+
+    /**
+     * Snapshot of a search over VM types; the assignment is expanded to VMs only when read.
+     */
+    SolutionSnapshot(int[] assignment, VmTypeReduction vmTypes, double fitness, int iterations, long elapsedNanos) {
+        this.assignment = assignment.clone();
+        this.vmTypes = vmTypes;
+        this.fitness = fitness;
+        this.iterations = iterations;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * VM index of every task; the caller gets its own copy.
+     */
+    public int[] getAssignment() {
+        return vmTypes == null ? assignment.clone() : vmTypes.expand(assignment);
+    }
+
+    public double getFitness() {
+        return fitness;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+}
@@ -0,0 +1,13 @@
+package org.fog.test.perfeval;
+
+/**
+ * Why an optimizer run ended.
+ */
+public enum StopReason {
+    MAX_ITERATIONS, // Ran all maxIterations iterations of the SchedulerConfig
+    NO_IMPROVEMENT, // The best fitness did not improve for a whole window of iterations
+    CONVERGED, // The best fitness improved by less than the relative threshold over a window
+    TIME_BUDGET, // The wall-clock budget was used up
+    EVALUATION_BUDGET, // The fitness-evaluation budget was used up
+    DEADLINE // The anytime deadline passed; the best solution so far was returned
+}
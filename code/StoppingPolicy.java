@@ -0,0 +1,93 @@
+package org.fog.test.perfeval;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides after every iteration whether a search may stop before SchedulerConfig.getMaxIterations().
+ * Policies can keep state between checks; the optimizer calls reset() at the start of each run.
+ * Combine several with anyOf().
+ */
+public interface StoppingPolicy {
+
+    /**
+     * Returns the reason to stop now, or null to keep going.
+     */
+    StopReason check(SearchProgress progress);
+
+    default void reset() {
+    }
+
+    /**
+     * Never stops early.
+     */
+    static StoppingPolicy none() {
+        return progress -> null;
+    }
+
+    /**
+     * Stops once the best fitness has not improved for the given number of iterations.
+     */
+    static StoppingPolicy noImprovement(int iterations) {
+        return new NoImprovementPolicy(iterations);
+    }
+
+    /**
+     * Stops once the best fitness improved by less than delta (relative to its value window
+     * iterations ago) over the last window iterations.
+     */
+    static StoppingPolicy relativeImprovement(double delta, int window) {
+        return new RelativeImprovementPolicy(delta, window);
+    }
+
+    /**
+     * Stops once the run has taken the given wall-clock time; checked between iterations.
+     */
+    static StoppingPolicy timeBudget(long time, TimeUnit unit) {
+        long budgetNanos = unit.toNanos(time);
+        return progress -> progress.getElapsedNanos() >= budgetNanos ? StopReason.TIME_BUDGET : null;
+    }
+
+    /**
+     * Stops once the given number of fitness evaluations was reached. The check runs between
+     * iterations, so the last iteration may overshoot the budget by up to one population.
+     */
+    static StoppingPolicy evaluationBudget(long evaluations) {
+        return progress -> progress.getEvaluations() >= evaluations ? StopReason.EVALUATION_BUDGET : null;
+    }
+
+    /**
+     * Stops as soon as any of the policies does, reporting the first one's reason.
+     */
+    static StoppingPolicy anyOf(StoppingPolicy... policies) {
+        return new CompositeStoppingPolicy(List.of(policies));
+    }
+
+    /**
+     * The policies enabled in Constants; none of them when all are set to 0.
+     */
+    static StoppingPolicy fromConstants() {
+        return fromConfig(SchedulerConfig.defaults());
+    }
+
+    /**
+     * The policies enabled in the config; none of them when all are set to 0.
+     */
+    static StoppingPolicy fromConfig(SchedulerConfig config) {
+        List<StoppingPolicy> policies = new ArrayList<>();
+        if (config.getNoImprovementIterations() > 0) {
+            policies.add(noImprovement(config.getNoImprovementIterations()));
+        }
+        if (config.getConvergenceDelta() > 0) {
+            policies.add(relativeImprovement(config.getConvergenceDelta(), config.getConvergenceWindow()));
+        }
+        if (config.getTimeBudgetMs() > 0) {
+            policies.add(timeBudget(config.getTimeBudgetMs(), TimeUnit.MILLISECONDS));
+        }
+        if (config.getEvaluationBudget() > 0) {
+            policies.add(evaluationBudget(config.getEvaluationBudget()));
+        }
+        return policies.isEmpty() ? none() : new CompositeStoppingPolicy(policies);
+    }
+}
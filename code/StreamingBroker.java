@@ -0,0 +1,135 @@
+package org.fog.test.perfeval;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.DatacenterBroker;
+import org.cloudbus.cloudsim.Vm;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.SimEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.fog.test.perfeval.Constants.*;
+
+/**
+ * Broker for continuously arriving cloudlets: instead of optimizing the whole list at once, it
+ * releases the submitted cloudlets in micro-batches of STREAM_WINDOW_SIZE, one every
+ * STREAM_WINDOW_INTERVAL simulated seconds, schedules each batch with a {@link StreamingScheduler}
+ * when it arrives and binds and submits only that batch.
+ */
+public class StreamingBroker extends DatacenterBroker {
+    private static final int STREAM_WINDOW = 74_001; // Event tag of an arriving micro-batch, clear of the CloudSim tags
+
+    private final String algorithm;
+    private final int windowSize;
+    private final double windowInterval;
+    private final SchedulerConfig config;
+    private StreamingScheduler scheduler;
+    private int pendingWindows;
+
+    public StreamingBroker(String name, String algorithm) throws Exception {
+        this(name, algorithm, STREAM_WINDOW_SIZE, STREAM_WINDOW_INTERVAL);
+    }
+
+    public StreamingBroker(String name, String algorithm, int windowSize, double windowInterval) throws Exception {
+        this(name, algorithm, windowSize, windowInterval, SchedulerConfig.defaults());
+    }
+
+    public StreamingBroker(String name, String algorithm, SchedulerConfig config) throws Exception {
+        this(name, algorithm, STREAM_WINDOW_SIZE, STREAM_WINDOW_INTERVAL, config);
+    }
+
+    public StreamingBroker(String name, String algorithm, int windowSize, double windowInterval, SchedulerConfig config) throws Exception {
+        super(name);
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("Window size must be positive");
+        }
+        this.algorithm = algorithm;
+        this.windowSize = windowSize;
+        this.windowInterval = windowInterval;
+        this.config = config;
+    }
+
+    @Override
+    protected void submitCloudlets() {
+        if (scheduler == null) {
+            scheduler = new StreamingScheduler(PopulationOptimizer.create(algorithm, config.randomStream(getName()), config),
+                    vmMips(), vmPes(), STREAM_WINDOW_LATENCY_MICROS, TimeUnit.MICROSECONDS);
+        }
+
+        // Hold the cloudlets back and let them arrive window by window
+        List<Cloudlet> arrivals = new ArrayList<>(getCloudletList());
+        getCloudletList().clear();
+        for (int from = 0, window = 0; from < arrivals.size(); from += windowSize, window++) {
+            List<Cloudlet> batch = new ArrayList<>(arrivals.subList(from, Math.min(from + windowSize, arrivals.size())));
+            schedule(getId(), window * windowInterval, STREAM_WINDOW, batch);
+            pendingWindows++;
+        }
+    }
+
+    @Override
+    protected void processOtherEvent(SimEvent ev) {
+        if (ev.getTag() == STREAM_WINDOW) {
+            @SuppressWarnings("unchecked")
+            List<Cloudlet> batch = (List<Cloudlet>) ev.getData();
+            scheduleWindow(batch);
+        } else {
+            super.processOtherEvent(ev);
+        }
+    }
+
+    private void scheduleWindow(List<Cloudlet> batch) {
+        long[] taskLengths = new long[batch.size()];
+        for (int i = 0; i < taskLengths.length; i++) {
+            taskLengths[i] = batch.get(i).getCloudletLength();
+        }
+        SchedulingResult result = scheduler.schedule(taskLengths, CloudSim.clock());
+
+        getCloudletList().addAll(batch);
+        for (int i = 0; i < batch.size(); i++) {
+            int vmId = getVmsCreatedList().get(result.getAssignedVm(i)).getId();
+            bindCloudletToVm(batch.get(i).getCloudletId(), vmId);
+        }
+        pendingWindows--;
+        super.submitCloudlets();
+    }
+
+    @Override
+    protected void processCloudletReturn(SimEvent ev) {
+        if (pendingWindows == 0) {
+            super.processCloudletReturn(ev);
+            return;
+        }
+        // More windows are coming: record the cloudlet without letting the broker finish
+        getCloudletReceivedList().add((Cloudlet) ev.getData());
+        cloudletsSubmitted--;
+    }
+
+    /**
+     * Latency and throughput of the windows scheduled so far, or null before the first. The broker
+     * does not print per window; read the metrics once the simulation has ended.
+     */
+    public StreamingMetrics getMetrics() {
+        return scheduler == null ? null : scheduler.getMetrics();
+    }
+
+    // The fleet is the VMs the datacenters created; the scheduler's VM indices refer to this list
+    private double[] vmMips() {
+        List<Vm> created = getVmsCreatedList();
+        double[] mips = new double[created.size()];
+        for (int i = 0; i < mips.length; i++) {
+            mips[i] = created.get(i).getMips();
+        }
+        return mips;
+    }
+
+    private int[] vmPes() {
+        List<Vm> created = getVmsCreatedList();
+        int[] pes = new int[created.size()];
+        for (int i = 0; i < pes.length; i++) {
+            pes[i] = created.get(i).getNumberOfPes();
+        }
+        return pes;
+    }
+}
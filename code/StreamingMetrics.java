@@ -0,0 +1,54 @@
+package org.fog.test.perfeval;
+
+/**
+ * Latency and throughput of a {@link StreamingScheduler}: how long each window took to schedule
+ * and how many tasks were scheduled per second of scheduling time.
+ */
+public class StreamingMetrics {
+    private int windows;
+    private long tasks;
+    private long totalNanos;
+    private long maxNanos;
+    private long lastNanos;
+
+    void recordWindow(int windowTasks, long latencyNanos) {
+        windows++;
+        tasks += windowTasks;
+        totalNanos += latencyNanos;
+        maxNanos = Math.max(maxNanos, latencyNanos);
+        lastNanos = latencyNanos;
+    }
+
+    public int getWindows() {
+        return windows;
+    }
+
+    public long getTasks() {
+        return tasks;
+    }
+
+    public long getLastLatencyNanos() {
+        return lastNanos;
+    }
+
+    public long getMaxLatencyNanos() {
+        return maxNanos;
+    }
+
+    public double getMeanLatencyNanos() {
+        return windows == 0 ? 0 : (double) totalNanos / windows;
+    }
+
+    /**
+     * Tasks scheduled per second spent scheduling.
+     */
+    public double getThroughput() {
+        return totalNanos == 0 ? 0 : tasks * 1e9 / totalNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Streaming: %d windows, %d tasks, %.3f ms mean / %.3f ms max latency, %.0f tasks/s",
+                windows, tasks, getMeanLatencyNanos() / 1e6, maxNanos / 1e6, getThroughput());
+    }
+}
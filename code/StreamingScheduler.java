@@ -0,0 +1,127 @@
+package org.fog.test.perfeval;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Online scheduling of tasks that keep arriving: each micro-batch (window) is optimized on its own,
+ * against the VMs' remaining work from earlier windows, and within a per-window deadline.
+ *
+ * Each window's population is warm-started with the previous window's best schedule: every new
+ * task is placed on the VM that the previous task of the nearest length went to. The VM ready
+ * times are predicted from the execution times of the windows scheduled so far.
+ */
+public class StreamingScheduler {
+    private final PopulationOptimizer optimizer;
+    private final double[] vmMips;
+    private final int[] vmPes;
+    private final double[] vmBusyUntil; // Predicted time at which each VM finishes its scheduled work
+    private final StreamingMetrics metrics = new StreamingMetrics();
+
+    private long[] previousLengths = new long[0]; // Tasks of the last window sorted by length...
+    private int[] previousVms = new int[0]; // ...and the VM each of them was assigned to
+    private int previousCount; // Tasks of the last non-empty window; the arrays above are reused and may be longer
+
+    // Scratch space of the sort in remember(), grown to the largest window and then reused
+    private double[] sortKeys = new double[0];
+    private double[] sortedKeys = new double[0];
+    private int[] sortUsed = new int[0];
+    private int[] sortOrder = new int[0];
+
+    /**
+     * windowLatency bounds the optimization time of one window; 0 leaves it unbounded.
+     */
+    public StreamingScheduler(PopulationOptimizer optimizer, double[] vmMips, int[] vmPes, long windowLatency, TimeUnit unit) {
+        this.optimizer = optimizer;
+        this.vmMips = vmMips.clone();
+        this.vmPes = vmPes.clone();
+        this.vmBusyUntil = new double[vmMips.length];
+        optimizer.setDeadline(windowLatency, unit);
+    }
+
+    /**
+     * Schedules one window of tasks arriving at the given time, in the same unit as the execution
+     * times (seconds of simulated time), and returns the chosen assignment.
+     */
+    public SchedulingResult schedule(long[] taskLengths, double now) {
+        long start = System.nanoTime();
+        double[] vmReadyTimes = new double[vmMips.length];
+        for (int vm = 0; vm < vmMips.length; vm++) {
+            vmReadyTimes[vm] = Math.max(0, vmBusyUntil[vm] - now);
+        }
+        SchedulingProblem problem = new SchedulingProblem(taskLengths, vmMips, vmPes, vmReadyTimes);
+        if (previousCount > 0) {
+            optimizer.setSeedSolutions(warmStart(taskLengths));
+        }
+
+        SchedulingResult result = optimizer.optimize(problem);
+
+        // The VMs are busy until their earlier work and this window's tasks are done
+        for (int vm = 0; vm < vmMips.length; vm++) {
+            vmBusyUntil[vm] = now + vmReadyTimes[vm];
+        }
+        for (int task = 0; task < taskLengths.length; task++) {
+            int vm = result.getAssignedVm(task);
+            vmBusyUntil[vm] += taskLengths[task] / vmMips[vm];
+        }
+        remember(taskLengths, result);
+        metrics.recordWindow(taskLengths.length, System.nanoTime() - start);
+        return result;
+    }
+
+    // Previous window's schedule mapped onto the new tasks by nearest task length
+    private int[] warmStart(long[] taskLengths) {
+        int[] seed = new int[taskLengths.length];
+        for (int task = 0; task < taskLengths.length; task++) {
+            int i = Arrays.binarySearch(previousLengths, 0, previousCount, taskLengths[task]);
+            if (i < 0) {
+                int above = -i - 1;
+                i = above == previousCount
+                        || (above > 0 && taskLengths[task] - previousLengths[above - 1] <= previousLengths[above] - taskLengths[task])
+                        ? above - 1 : above;
+            }
+            seed[task] = previousVms[i];
+        }
+        return seed;
+    }
+
+    private void remember(long[] taskLengths, SchedulingResult result) {
+        int n = taskLengths.length;
+        if (n == 0) {
+            return; // Keep the last non-empty window
+        }
+        if (sortKeys.length < n) {
+            sortKeys = new double[n];
+            sortedKeys = new double[n];
+            sortUsed = new int[n];
+            sortOrder = new int[n];
+            previousLengths = new long[n];
+            previousVms = new int[n];
+        }
+        // Sort task indices by length with the heuristics' primitive stable sort, carrying their VMs along
+        for (int task = 0; task < n; task++) {
+            sortKeys[task] = taskLengths[task];
+        }
+        HeuristicScheduler.stableOrder(sortKeys, n, sortedKeys, sortUsed, sortOrder);
+        for (int i = 0; i < n; i++) {
+            previousLengths[i] = taskLengths[sortOrder[i]];
+            previousVms[i] = result.getAssignedVm(sortOrder[i]);
+        }
+        previousCount = n;
+    }
+
+    public PopulationOptimizer getOptimizer() {
+        return optimizer;
+    }
+
+    /**
+     * Predicted time at which the VM finishes all work scheduled so far.
+     */
+    public double getVmBusyUntil(int vm) {
+        return vmBusyUntil[vm];
+    }
+
+    public StreamingMetrics getMetrics() {
+        return metrics;
+    }
+}
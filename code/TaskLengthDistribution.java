@@ -0,0 +1,130 @@
+package org.fog.test.perfeval;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Distribution of cloudlet lengths in MI for the {@link WorkloadGenerator}. A sample depends only
+ * on the draws it takes from random, so a seeded stream gives the same lengths every run.
+ */
+public interface TaskLengthDistribution {
+
+    long sample(SplittableRandom random);
+
+    /**
+     * Uniform in min..max MI, both inclusive.
+     */
+    static TaskLengthDistribution uniform(long min, long max) {
+        if (min < 1 || max < min) {
+            throw new IllegalArgumentException("Invalid length range " + min + ".." + max);
+        }
+        return random -> min + random.nextLong(max - min + 1);
+    }
+
+    /**
+     * Heavy-tailed: Pareto with the given scale (the shortest length) and shape, capped at max so a
+     * single task cannot dwarf the rest of a run. Smaller shapes give heavier tails.
+     */
+    static TaskLengthDistribution pareto(long scale, double shape, long max) {
+        if (scale < 1 || !(shape > 0) || max < scale) {
+            throw new IllegalArgumentException("Invalid Pareto(" + scale + ", " + shape + ") capped at " + max);
+        }
+        return random -> {
+            double length = scale / Math.pow(1 - random.nextDouble(), 1 / shape); // 1 - u is in (0, 1]
+            return length >= max ? max : (long) length;
+        };
+    }
+
+    /**
+     * Mix of short interactive tasks and long batch tasks: with probability longFraction a length
+     * from longTasks, otherwise one from shortTasks.
+     */
+    static TaskLengthDistribution bimodal(TaskLengthDistribution shortTasks, TaskLengthDistribution longTasks, double longFraction) {
+        if (!(longFraction >= 0 && longFraction <= 1)) {
+            throw new IllegalArgumentException("longFraction must be between 0 and 1: " + longFraction);
+        }
+        return random -> random.nextDouble() < longFraction ? longTasks.sample(random) : shortTasks.sample(random);
+    }
+
+    /**
+     * Empirical distribution of the lengths in a trace file, one task per line with its length in
+     * MI as the first comma- or whitespace-separated field; blank lines, lines starting with # and a
+     * non-numeric header are skipped. The file is streamed once and at most maxSamples lengths,
+     * a uniform reservoir sample of them, are kept, so traces of any size fit in bounded memory.
+     */
+    static TaskLengthDistribution trace(Path path, int maxSamples) {
+        if (maxSamples < 1) {
+            throw new IllegalArgumentException("Need at least one sample");
+        }
+        long[] reservoir = new long[maxSamples];
+        long seen = 0;
+        SplittableRandom random = RandomStreams.forName("trace/" + path.getFileName());
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String field = line.trim().split("[,\\s]+", 2)[0];
+                if (field.isEmpty() || field.startsWith("#")) {
+                    continue;
+                }
+                long length;
+                try {
+                    length = (long) Double.parseDouble(field);
+                } catch (NumberFormatException e) {
+                    if (seen == 0) {
+                        continue; // Header
+                    }
+                    throw new IllegalArgumentException("Invalid length in " + path + ": " + line, e);
+                }
+                if (length < 1) {
+                    continue;
+                }
+                // Algorithm R: the i-th length replaces a kept one with probability maxSamples / i
+                if (seen < maxSamples) {
+                    reservoir[(int) seen] = length;
+                } else {
+                    long slot = random.nextLong(seen + 1);
+                    if (slot < maxSamples) {
+                        reservoir[(int) slot] = length;
+                    }
+                }
+                seen++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read trace " + path, e);
+        }
+        if (seen == 0) {
+            throw new IllegalArgumentException("No task lengths in " + path);
+        }
+        long[] samples = Arrays.copyOf(reservoir, (int) Math.min(seen, maxSamples));
+        return r -> samples[r.nextInt(samples.length)];
+    }
+
+    /**
+     * Distribution from its name: "uniform" (100..1500 MI, as the simulations), "pareto" (scale
+     * 100, shape 1.5, capped at 1,000,000), "bimodal" (90% of 100..1500, 10% of 20,000..100,000)
+     * or "trace=path" (at most 100,000 samples of the file).
+     */
+    static TaskLengthDistribution parse(String spec) {
+        switch (spec) {
+            case "uniform":
+                return uniform(100, 1500);
+            case "pareto":
+                return pareto(100, 1.5, 1_000_000);
+            case "bimodal":
+                return bimodal(uniform(100, 1500), uniform(20_000, 100_000), 0.1);
+            default:
+                if (spec.startsWith("trace=")) {
+                    return trace(Paths.get(spec.substring("trace=".length())), 100_000);
+                }
+                throw new IllegalArgumentException("Unknown length distribution: " + spec
+                        + " (expected uniform, pareto, bimodal or trace=path)");
+        }
+    }
+}
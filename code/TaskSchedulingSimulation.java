@@ -9,12 +9,15 @@ import org.cloudbus.cloudsim.provisioners.RamProvisionerSimple;
 import java.text.DecimalFormat;
 import java.util.*;
 
-import static org.fog.test.perfeval.Constants.CLOUDLET_LENGTH1;
-import static org.fog.test.perfeval.Constants.CLOUDLET_LENGTH2;
-
 public class TaskSchedulingSimulation {
 
+    /**
+     * Settings can be overridden without a rebuild, e.g. --populationSize=30 --maxIterations=500,
+     * -Dscheduler.evaluationThreads=4 or --config=run.properties; see {@link SchedulerConfig}.
+     */
     public static void main(String[] args) {
+        SchedulerConfig config = SchedulerConfig.load(args);
+        System.out.println("Config: " + config);
 
         try {
             // Step 1: Initialize the CloudSim package.
@@ -28,18 +31,18 @@ public class TaskSchedulingSimulation {
             Datacenter datacenter0 = createDatacenter();
 
             // Step 3: Create Broker
-            DatacenterBroker broker = createMPABroker("MPA_Broker");
+            DatacenterBroker broker = createMPABroker("MPA_Broker", config);
             int brokerId = broker != null ? broker.getId() : 0;
 
             // Step 4: Create VMs
-            List<Vm> vmList = createVM(brokerId);
+            List<Vm> vmList = createVM(brokerId, config);
             // Submit VM list to the broker
             if (broker != null) {
                 broker.submitVmList(vmList);
             }
 
             // Step 5: Create Cloudlets
-            List<Cloudlet> cloudletList = createCloudlet(brokerId);
+            List<Cloudlet> cloudletList = createCloudlet(brokerId, config);
             // Submit cloudlet list to the broker
             if (broker != null) {
                 broker.submitCloudletList(cloudletList);
@@ -63,18 +66,18 @@ public class TaskSchedulingSimulation {
             Datacenter datacenter1 = createDatacenter();
 
             // Step 4: Create VMs
-            DatacenterBroker broker2 = createMPABroker("MPA_Broker2");
+            DatacenterBroker broker2 = createMPABroker("MPA_Broker2", config);
             int brokerId2 = broker != null ? broker.getId() : 0;
 
             // Step 4: Create VMs
-            List<Vm> vmList2 = createVM2(brokerId2);
+            List<Vm> vmList2 = createVM2(brokerId2, config);
             // Submit VM list to the broker
             if (broker2 != null) {
                 broker2.submitVmList(vmList2);
             }
 
             // Step 5: Create Cloudlets
-            List<Cloudlet> cloudletList2 = createCloudlet2(brokerId2);
+            List<Cloudlet> cloudletList2 = createCloudlet2(brokerId2, config);
             // Submit cloudlet list to the broker
             if (broker2 != null) {
                 broker2.submitCloudletList(cloudletList2);
@@ -101,14 +104,14 @@ public class TaskSchedulingSimulation {
     }
 
 
-    private static List<Cloudlet> createCloudlet(int brokerId) {
+    private static List<Cloudlet> createCloudlet(int brokerId, SchedulerConfig config) {
         List<Cloudlet> cloudletList = new ArrayList<Cloudlet>();
         int pesNumber = 1;
         long fileSize = 300;
         long outputSize = 300;
         int i = 0;
 
-        for (int length : CLOUDLET_LENGTH1) {
+        for (int length : config.getCloudletLengths1()) {
             Cloudlet cloudlet = new Cloudlet(i, length, pesNumber, fileSize, outputSize, new UtilizationModelFull(), new UtilizationModelFull(), new UtilizationModelFull());
             cloudlet.setUserId(brokerId);
             cloudletList.add(cloudlet);
@@ -118,14 +121,14 @@ public class TaskSchedulingSimulation {
         return cloudletList;
     }
 
-    private static List<Cloudlet> createCloudlet2(int brokerId) {
+    private static List<Cloudlet> createCloudlet2(int brokerId, SchedulerConfig config) {
         List<Cloudlet> cloudletList = new ArrayList<Cloudlet>();
         int pesNumber = 1;
         long fileSize = 300;
         long outputSize = 300;
         int i = 0;
 
-        for (int length : CLOUDLET_LENGTH2) {
+        for (int length : config.getCloudletLengths2()) {
             Cloudlet cloudlet = new Cloudlet(i, length, pesNumber, fileSize, outputSize, new UtilizationModelFull(), new UtilizationModelFull(), new UtilizationModelFull());
             cloudlet.setUserId(brokerId);
             cloudletList.add(cloudlet);
@@ -134,7 +137,7 @@ public class TaskSchedulingSimulation {
 
         return cloudletList;
     }
-    private static List<Vm> createVM(int brokerId) {
+    private static List<Vm> createVM(int brokerId, SchedulerConfig config) {
         List<Vm> vmList = new ArrayList<Vm>();
 
         long size = 10000; // image size (MB)
@@ -143,9 +146,9 @@ public class TaskSchedulingSimulation {
         String vmm = "Xen";
         Random random = new Random();
 
-        for (int vmId = 0; vmId < Constants.NO_OF_VMS; vmId++) {
+        for (int vmId = 0; vmId < config.getVmCount(); vmId++) {
             long bw = 1000 + random.nextInt(9001);
-            int mips = vmId < Constants.NO_OF_VMS / 2 ? 2000 : 4000;
+            int mips = vmId < config.getVmCount() / 2 ? 2000 : 4000;
             Vm vm = new Vm(vmId, brokerId, mips, pesNumber, ram, bw, size, vmm, new CloudletSchedulerTimeShared());
 //            vm.setCostPerSec(400);
             vmList.add(vm);
@@ -153,7 +156,7 @@ public class TaskSchedulingSimulation {
 
         return vmList;
     }
-    private static List<Vm> createVM2(int brokerId) {
+    private static List<Vm> createVM2(int brokerId, SchedulerConfig config) {
         List<Vm> vmList = new ArrayList<Vm>();
 
         long size = 10000; // image size (MB)
@@ -162,9 +165,9 @@ public class TaskSchedulingSimulation {
         String vmm = "Xen";
         Random random = new Random();
 
-        for (int vmId = 0; vmId < Constants.NO_OF_VMS2; vmId++) {
+        for (int vmId = 0; vmId < config.getVmCount2(); vmId++) {
             long bw = 1000 + random.nextInt(9001);
-            int mips = vmId < Constants.NO_OF_VMS2 / 2 ? 2000 : 4000;
+            int mips = vmId < config.getVmCount2() / 2 ? 2000 : 4000;
             Vm vm = new Vm(vmId, brokerId, mips, pesNumber, ram, bw, size, vmm, new CloudletSchedulerTimeShared());
 //            vm.setCostPerSec(400);
             vmList.add(vm);
@@ -230,10 +233,10 @@ public class TaskSchedulingSimulation {
         return datacenter;
     }
 
-    private static DatacenterBroker createMPABroker(String name) {
+    private static DatacenterBroker createMPABroker(String name, SchedulerConfig config) {
         DatacenterBroker broker = null;
         try {
-            broker = new MPABroker(name);
+            broker = new MPABroker(name, config);
         } catch (Exception e) {
             e.printStackTrace();
             return null;
@@ -0,0 +1,45 @@
+package org.fog.test.perfeval;
+
+/**
+ * One tier of a heterogeneous VM fleet, e.g. the fog nodes or the cloud: how many VMs it has, the
+ * MIPS classes they are drawn from, their PEs and how many seconds a task waits before the tier
+ * can start on it (e.g. the round trip to a remote cloud).
+ */
+public class VmTier {
+    private final String name;
+    private final int count;
+    private final double[] mipsClasses;
+    private final int pes;
+    private final double readyTime;
+
+    public VmTier(String name, int count, double[] mipsClasses, int pes, double readyTime) {
+        if (count < 0 || mipsClasses.length == 0 || pes < 1 || readyTime < 0) {
+            throw new IllegalArgumentException("Invalid VM tier " + name);
+        }
+        this.name = name;
+        this.count = count;
+        this.mipsClasses = mipsClasses.clone();
+        this.pes = pes;
+        this.readyTime = readyTime;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public double[] getMipsClasses() {
+        return mipsClasses.clone();
+    }
+
+    public int getPes() {
+        return pes;
+    }
+
+    public double getReadyTime() {
+        return readyTime;
+    }
+}
@@ -0,0 +1,184 @@
+package org.fog.test.perfeval;
+
+/**
+ * Problem reduction for pools of identical VMs: VMs with the same MIPS and PE count form one type,
+ * and the optimizer assigns tasks to types instead of to VMs. The reduced execution-time matrix
+ * has one column per type rather than per VM.
+ *
+ * In the reduced problem a type of n VMs behaves like one VM that runs its tasks n at a time:
+ * its completion time is its total work divided by n, and its energy per task is that of one of
+ * its VMs. expand() turns a type assignment back into concrete VMs by balancing each type's tasks
+ * over its VMs, longest task first onto the VM that is free first.
+ */
+public class VmTypeReduction {
+    private final SchedulingProblem problem;
+    private final int[] typeOfVm;
+    private final int[][] vmsOfType;
+    private int[] tasksLongestFirst; // Order in which expand() places tasks, sorted on first use
+
+    private VmTypeReduction(SchedulingProblem problem, int[] typeOfVm, int[][] vmsOfType) {
+        this.problem = problem;
+        this.typeOfVm = typeOfVm;
+        this.vmsOfType = vmsOfType;
+    }
+
+    /**
+     * Groups the VMs of the problem by (MIPS, PEs); types are numbered in order of first VM.
+     */
+    public static VmTypeReduction of(SchedulingProblem problem) {
+        int numVMs = problem.getNumVMs();
+        int[] typeOfVm = new int[numVMs];
+        int[] firstVmOfType = new int[numVMs];
+        int[] typeSizes = new int[numVMs];
+        int numTypes = 0;
+        for (int vm = 0; vm < numVMs; vm++) {
+            int type = 0;
+            while (type < numTypes && !sameType(problem, firstVmOfType[type], vm)) {
+                type++;
+            }
+            if (type == numTypes) {
+                firstVmOfType[numTypes++] = vm;
+            }
+            typeOfVm[vm] = type;
+            typeSizes[type]++;
+        }
+        int[][] vmsOfType = new int[numTypes][];
+        for (int type = 0; type < numTypes; type++) {
+            vmsOfType[type] = new int[typeSizes[type]];
+            typeSizes[type] = 0;
+        }
+        for (int vm = 0; vm < numVMs; vm++) {
+            int type = typeOfVm[vm];
+            vmsOfType[type][typeSizes[type]++] = vm;
+        }
+        return new VmTypeReduction(problem, typeOfVm, vmsOfType);
+    }
+
+    private static boolean sameType(SchedulingProblem problem, int a, int b) {
+        return problem.getVmMips(a) == problem.getVmMips(b) && problem.getVmPes(a) == problem.getVmPes(b);
+    }
+
+    public int getNumTypes() {
+        return vmsOfType.length;
+    }
+
+    public int getTypeOf(int vm) {
+        return typeOfVm[vm];
+    }
+
+    public int getVmCount(int type) {
+        return vmsOfType[type].length;
+    }
+
+    /**
+     * True if some VMs share a type, so the reduced problem is actually smaller.
+     */
+    public boolean reduces() {
+        return vmsOfType.length < typeOfVm.length;
+    }
+
+    /**
+     * Fitness context of the reduced problem: one "VM" per type, with the type's MIPS, its VMs'
+     * mean ready time, and execution times divided by the type's VM count.
+     */
+    public FitnessContext reducedContext() {
+        return reducedContext(Constants.ALPHA);
+    }
+
+    public FitnessContext reducedContext(double alpha) {
+        int numTasks = problem.getNumTasks();
+        int numTypes = vmsOfType.length;
+        double[] mips = new double[numTypes];
+        double[] readyTimes = new double[numTypes];
+        for (int type = 0; type < numTypes; type++) {
+            int[] vms = vmsOfType[type];
+            mips[type] = problem.getVmMips(vms[0]);
+            for (int vm : vms) {
+                readyTimes[type] += problem.getVmReadyTime(vm) / vms.length;
+            }
+        }
+        double[] executionTimes = new double[numTasks * numTypes];
+        for (int task = 0; task < numTasks; task++) {
+            long taskLength = problem.getTaskLength(task);
+            for (int type = 0; type < numTypes; type++) {
+                executionTimes[task * numTypes + type] = (double) taskLength / mips[type] / vmsOfType[type].length;
+            }
+        }
+        return new FitnessContext(numTasks, numTypes, mips, readyTimes, executionTimes, alpha);
+    }
+
+    /**
+     * Concrete VM for every task of a type assignment: each type's tasks, longest first, go to
+     * the VM of that type that becomes free first.
+     */
+    public int[] expand(int[] typeAssignment) {
+        int[] tasks = tasksLongestFirst();
+        double[] readyTimes = new double[typeOfVm.length];
+        int[][] heaps = new int[vmsOfType.length][]; // Per type, its VMs as a min-heap by ready time
+        for (int type = 0; type < vmsOfType.length; type++) {
+            for (int vm : vmsOfType[type]) {
+                readyTimes[vm] = problem.getVmReadyTime(vm);
+            }
+            heaps[type] = vmsOfType[type].clone();
+            for (int i = heaps[type].length / 2 - 1; i >= 0; i--) {
+                siftDown(heaps[type], i, readyTimes);
+            }
+        }
+
+        int[] assignment = new int[tasks.length];
+        for (int task : tasks) {
+            int[] heap = heaps[typeAssignment[task]];
+            int vm = heap[0]; // Free first
+            readyTimes[vm] += problem.getTaskLength(task) / problem.getVmMips(vm);
+            siftDown(heap, 0, readyTimes);
+            assignment[task] = vm;
+        }
+        return assignment;
+    }
+
+    private static void siftDown(int[] heap, int i, double[] readyTimes) {
+        int vm = heap[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heap.length) {
+                break;
+            }
+            if (child + 1 < heap.length && before(heap[child + 1], heap[child], readyTimes)) {
+                child++;
+            }
+            if (!before(heap[child], vm, readyTimes)) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = vm;
+    }
+
+    // Earlier ready time first, lower VM index on ties
+    private static boolean before(int a, int b, double[] readyTimes) {
+        return readyTimes[a] < readyTimes[b] || (readyTimes[a] == readyTimes[b] && a < b);
+    }
+
+    private synchronized int[] tasksLongestFirst() {
+        if (tasksLongestFirst == null) {
+            double[] keys = new double[problem.getNumTasks()];
+            for (int task = 0; task < keys.length; task++) {
+                keys[task] = -problem.getTaskLength(task);
+            }
+            tasksLongestFirst = HeuristicScheduler.stableOrder(keys);
+        }
+        return tasksLongestFirst;
+    }
+
+    /**
+     * Type assignment of a concrete VM assignment, e.g. to seed the reduced search.
+     */
+    public int[] reduce(int[] vmAssignment) {
+        int[] types = new int[vmAssignment.length];
+        for (int task = 0; task < vmAssignment.length; task++) {
+            types[task] = typeOfVm[vmAssignment[task]];
+        }
+        return types;
+    }
+}
@@ -0,0 +1,98 @@
+package org.fog.test.perfeval;
+
+import java.util.SplittableRandom;
+
+import static org.fog.test.perfeval.Constants.*;
+
+/**
+ * Whale Optimization Algorithm: encircling, random search and spiral moves around the best whale.
+ */
+public class WOAOptimizer extends PopulationOptimizer {
+    private Population whales; // Whales (solutions), updated in place
+    private SplittableRandom[] whaleRandoms; // One stream per whale, used by its position updates
+
+    public WOAOptimizer() {
+        this(RandomStreams.forName("WOA"));
+    }
+
+    public WOAOptimizer(SplittableRandom random) {
+        super(random);
+    }
+
+    public WOAOptimizer(SplittableRandom random, SchedulerConfig config) {
+        super(random, config);
+    }
+
+    @Override
+    public String getName() {
+        return "WOA";
+    }
+
+    @Override
+    protected void initializePopulation() {
+        whales = new Population(config.getPopulationSize(), numTasks, numVMs);
+        whaleRandoms = RandomStreams.split(random, config.getPopulationSize());
+
+        for (int i = 0; i < config.getPopulationSize(); i++) {
+            randomize(whales, i);
+        }
+    }
+
+    @Override
+    protected Population getPopulation() {
+        return whales;
+    }
+
+    @Override
+    protected void runIteration(int iter) {
+        // Evaluate fitness of each whale
+        evaluatePopulation(whales);
+
+        // Update whales based on WOA algorithm
+        updateWhales(whales, iter);
+    }
+
+    protected void updateWhales(Population whales, int currentIteration) {
+        double a = 2.0 - currentIteration * (2.0 / config.getMaxIterations()); // Decreases linearly from 2 to 1
+        double a2 = -1 + currentIteration * ((-1) / config.getMaxIterations()); // Decreases from -1 to -2
+        GeneArray genes = whales.genes();
+
+        for (int w = 0; w < whales.size(); w++) {
+            int offset = whales.offset(w);
+            SplittableRandom whaleRandom = whaleRandoms[w];
+            double r1 = whaleRandom.nextDouble(); // Random number in [0,1)
+            double r2 = whaleRandom.nextDouble(); // Random number in [0,1)
+            double A = 2 * a * r1 - a; // Equation (2.3) in the paper
+            double C = 2 * r2; // Equation (2.4) in the paper
+            double b = 1; // Defines shape of the spiral
+            double l = (a2 - 1) * whaleRandom.nextDouble() + 1; // Equation (2.5) in the paper
+
+            for (int i = 0; i < numTasks; i++) {
+                int position = genes.get(offset + i);
+                double p = whaleRandom.nextDouble();
+                if (p < 0.5) {
+                    if (Math.abs(A) < 1) {
+                        int randomWhaleIndex = whaleRandom.nextInt(whales.size());
+                        position = updatePosition(position, whales.get(randomWhaleIndex, i), A, C);
+                    } else {
+                        position = updatePosition(position, bestSolution[i], A, C);
+                    }
+                } else {
+                    position = updateSpiralPosition(position, bestSolution[i], b, l);
+                }
+                genes.set(offset + i, clamp(position)); // Ensure the position is within bounds
+            }
+        }
+    }
+
+    private int updatePosition(int position, int reference, double A, double C) {
+        // Simulates the encircling prey behavior or exploration
+        return reference - (int) (A * Math.abs(C * reference - position));
+    }
+
+    private int updateSpiralPosition(int position, int reference, double b, double l) {
+        // Simulates the spiral-shaped path towards the prey
+        double distance = Math.abs(reference - position);
+        return (int) (distance * Math.exp(b * l) * Math.cos(l * 2 * Math.PI) + reference);
+    }
+}
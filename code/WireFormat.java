@@ -0,0 +1,187 @@
+package org.fog.test.perfeval;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Messages exchanged between the distributed evaluator and its workers.
+ *
+ * SETUP:    numTasks, numVMs, the fitness weight alpha, MIPS and ready time of every VM, then
+ *           the flat execution-time matrix. Sent once.
+ * EVALUATE: number of solutions, then for each its slot and either every gene (FULL) or only the
+ *           genes that changed since the solution last sent for that slot (DELTA).
+ * RESULT:   worker busy time in nanoseconds, then the fitness of every solution, in request order.
+ * CLOSE:    no payload; the worker exits.
+ * ERROR:    what went wrong on the worker, as modified UTF-8; sent instead of the next RESULT,
+ *           after which the worker closes the channel.
+ *
+ * Counts, slots and genes are unsigned varints, so a VM index below 128 takes one byte.
+ *
+ * Readers trust nothing a peer sends: sizes are checked against the bytes left in the message
+ * before anything is allocated, and indices against the sizes, so a malformed or hostile message
+ * ends in an IOException instead of an oversized allocation or a bad index.
+ */
+final class WireFormat {
+    static final byte SETUP = 1;
+    static final byte EVALUATE = 2;
+    static final byte RESULT = 3;
+    static final byte CLOSE = 4;
+    static final byte ERROR = 5;
+
+    private static final int MAX_ERROR_LENGTH = 4096; // Characters; writeUTF takes at most 65535 bytes
+
+    static final byte FULL = 0;
+    static final byte DELTA = 1;
+
+    private WireFormat() {
+    }
+
+    static void writeSetup(DataOutput out, FitnessContext context) throws IOException {
+        out.writeByte(SETUP);
+        out.writeInt(context.numTasks);
+        out.writeInt(context.numVMs);
+        out.writeDouble(context.alpha);
+        for (int v = 0; v < context.numVMs; v++) {
+            out.writeDouble(context.mips[v]);
+            out.writeDouble(context.vmReadyTimes[v]);
+        }
+        for (double time : context.executionTimes) {
+            out.writeDouble(time);
+        }
+    }
+
+    /**
+     * Reads the rest of a SETUP message, after its type byte; remaining is the number of bytes
+     * left in the message, which must be exactly what the declared sizes need.
+     */
+    static FitnessContext readSetup(DataInput in, int remaining) throws IOException {
+        int numTasks = in.readInt();
+        int numVMs = in.readInt();
+        double alpha = in.readDouble();
+        if (numTasks < 0 || numVMs < 1) {
+            throw new IOException("Invalid problem size " + numTasks + " x " + numVMs);
+        }
+        long entries = (long) numTasks * numVMs; // Below 2^62, so the byte count below cannot overflow
+        if (entries > remaining / 8 || 16 + 16L * numVMs + 8 * entries != remaining) {
+            throw new IOException("SETUP for " + numTasks + " x " + numVMs + " does not match its "
+                    + remaining + " bytes");
+        }
+        double[] mips = new double[numVMs];
+        double[] vmReadyTimes = new double[numVMs];
+        for (int v = 0; v < numVMs; v++) {
+            mips[v] = in.readDouble();
+            vmReadyTimes[v] = in.readDouble();
+        }
+        double[] executionTimes = new double[numTasks * numVMs]; // Fits: the message held 8 bytes per entry
+        for (int i = 0; i < executionTimes.length; i++) {
+            executionTimes[i] = in.readDouble();
+        }
+        return new FitnessContext(numTasks, numVMs, mips, vmReadyTimes, executionTimes, alpha);
+    }
+
+    /**
+     * Writes solution as a delta against previous, or in full when previous is null or the delta
+     * would not be smaller. Leaves previous equal to solution.
+     */
+    static void writeSolution(DataOutput out, int[] solution, int[] previous) throws IOException {
+        int changes = 0;
+        if (previous != null) {
+            for (int j = 0; j < solution.length; j++) {
+                if (solution[j] != previous[j]) {
+                    changes++;
+                }
+            }
+        }
+        if (previous == null || changes * 2 >= solution.length) { // A change costs an index and a gene
+            out.writeByte(FULL);
+            for (int gene : solution) {
+                writeVarint(out, gene);
+            }
+        } else {
+            out.writeByte(DELTA);
+            writeVarint(out, changes);
+            int last = 0;
+            for (int j = 0; j < solution.length; j++) {
+                if (solution[j] != previous[j]) {
+                    writeVarint(out, j - last); // Gap to the previous change, small when changes are dense
+                    writeVarint(out, solution[j]);
+                    last = j;
+                }
+            }
+        }
+        if (previous != null) {
+            System.arraycopy(solution, 0, previous, 0, solution.length);
+        }
+    }
+
+    /**
+     * Applies a solution written by writeSolution() to the worker's copy of its slot; every gene
+     * must be a VM index below numVMs.
+     */
+    static void readSolution(DataInput in, int[] solution, int numVMs) throws IOException {
+        byte encoding = in.readByte();
+        if (encoding == FULL) {
+            for (int j = 0; j < solution.length; j++) {
+                solution[j] = readGene(in, numVMs);
+            }
+            return;
+        }
+        if (encoding != DELTA) {
+            throw new IOException("Unknown solution encoding " + encoding);
+        }
+        int changes = readVarint(in);
+        if (changes > solution.length) {
+            throw new IOException(changes + " changes to a solution of " + solution.length + " tasks");
+        }
+        int j = 0;
+        for (int c = 0; c < changes; c++) {
+            j += readVarint(in);
+            if (j < 0 || j >= solution.length) {
+                throw new IOException("Task index " + j + " out of range 0.." + (solution.length - 1));
+            }
+            solution[j] = readGene(in, numVMs);
+        }
+    }
+
+    private static int readGene(DataInput in, int numVMs) throws IOException {
+        int vm = readVarint(in);
+        if (vm < 0 || vm >= numVMs) {
+            throw new IOException("VM index " + vm + " out of range 0.." + (numVMs - 1));
+        }
+        return vm;
+    }
+
+    static void writeError(DataOutput out, Throwable error) throws IOException {
+        String message = String.valueOf(error);
+        out.writeByte(ERROR);
+        out.writeUTF(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+    }
+
+    /**
+     * Reads the rest of an ERROR message, after its type byte.
+     */
+    static String readError(DataInput in) throws IOException {
+        return in.readUTF();
+    }
+
+    static void writeVarint(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    static int readVarint(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) { // An int takes at most 5 bytes
+            byte b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+}
@@ -0,0 +1,202 @@
+package org.fog.test.perfeval;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.CloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.UtilizationModelFull;
+import org.cloudbus.cloudsim.Vm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded synthetic workloads at production scale: a heterogeneous VM fleet of one or more
+ * {@link VmTier}s and an unbounded sequence of task lengths drawn from a
+ * {@link TaskLengthDistribution}.
+ *
+ * Tasks are generated lazily and never stored. Task lengths come in blocks of BLOCK_SIZE, each
+ * block from its own stream derived from the seed, so any range of tasks can be produced on its own:
+ * a window starting at task 10,000,000 costs the same as one starting at 0, and task i has the same
+ * length however the sequence is sliced. The fleet is small and built once.
+ */
+public class WorkloadGenerator {
+    public static final int BLOCK_SIZE = 4096;
+
+    private final long seed;
+    private final TaskLengthDistribution lengths;
+    private final double[] vmMips;
+    private final int[] vmPes;
+    private final double[] vmReadyTimes;
+    private final int[] vmTiers; // Index into tiers
+    private final List<VmTier> tiers;
+
+    public WorkloadGenerator(long seed, TaskLengthDistribution lengths, List<VmTier> tiers) {
+        this.seed = seed;
+        this.lengths = lengths;
+        this.tiers = new ArrayList<>(tiers);
+        int numVMs = 0;
+        for (VmTier tier : tiers) {
+            numVMs += tier.getCount();
+        }
+        if (numVMs == 0) {
+            throw new IllegalArgumentException("The fleet has no VMs");
+        }
+        vmMips = new double[numVMs];
+        vmPes = new int[numVMs];
+        vmReadyTimes = new double[numVMs];
+        vmTiers = new int[numVMs];
+
+        int vm = 0;
+        for (int t = 0; t < tiers.size(); t++) {
+            VmTier tier = tiers.get(t);
+            double[] mipsClasses = tier.getMipsClasses();
+            SplittableRandom random = RandomStreams.forName(seed, "vm/" + tier.getName());
+            for (int i = 0; i < tier.getCount(); i++, vm++) {
+                vmMips[vm] = mipsClasses[random.nextInt(mipsClasses.length)];
+                vmPes[vm] = tier.getPes();
+                vmReadyTimes[vm] = tier.getReadyTime();
+                vmTiers[vm] = t;
+            }
+        }
+    }
+
+    /**
+     * Fleet of numVMs VMs: three quarters fog nodes of 500 to 2500 MIPS, ready at once, and a
+     * quarter cloud VMs of 4000 to 12000 MIPS with 2 PEs, 50 ms away.
+     */
+    public static List<VmTier> fogCloudFleet(int numVMs) {
+        int cloud = numVMs / 4;
+        return Arrays.asList(
+                new VmTier("fog", numVMs - cloud, new double[]{500, 1000, 1500, 2000, 2500}, 1, 0),
+                new VmTier("cloud", cloud, new double[]{4000, 6000, 8000, 12000}, 2, 0.05));
+    }
+
+    /**
+     * Lengths of the tasks from, from + 1, ..., from + count - 1, generated as they are read.
+     */
+    public PrimitiveIterator.OfLong taskLengths(long from, long count) {
+        return new TaskLengthIterator(from, count);
+    }
+
+    /**
+     * Fills out with the lengths of the tasks from from on.
+     */
+    public void fillTaskLengths(long from, long[] out) {
+        PrimitiveIterator.OfLong it = taskLengths(from, out.length);
+        for (int i = 0; i < out.length; i++) {
+            out[i] = it.nextLong();
+        }
+    }
+
+    /**
+     * The tasks from..from + count - 1 on the whole fleet, e.g. one window of a stream scheduled by
+     * a {@link StreamingScheduler} or one chunk of a run too large to optimize at once.
+     */
+    public SchedulingProblem window(long from, int count) {
+        long[] taskLengths = new long[count];
+        fillTaskLengths(from, taskLengths);
+        return new SchedulingProblem(taskLengths, vmMips, vmPes, vmReadyTimes);
+    }
+
+    /**
+     * Cloudlets 0..count - 1 of brokerId, created one at a time as the iterator is read.
+     */
+    public Iterator<Cloudlet> cloudlets(int brokerId, int count) {
+        PrimitiveIterator.OfLong it = taskLengths(0, count);
+        return new Iterator<Cloudlet>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public Cloudlet next() {
+                Cloudlet cloudlet = new Cloudlet(next++, it.nextLong(), 1, 300, 300,
+                        new UtilizationModelFull(), new UtilizationModelFull(), new UtilizationModelFull());
+                cloudlet.setUserId(brokerId);
+                return cloudlet;
+            }
+        };
+    }
+
+    public List<Vm> createVms(int brokerId) {
+        List<Vm> vmList = new ArrayList<Vm>(vmMips.length);
+        for (int vmId = 0; vmId < vmMips.length; vmId++) {
+            vmList.add(new Vm(vmId, brokerId, vmMips[vmId], vmPes[vmId], 512, 1000, 10000, "Xen",
+                    new CloudletSchedulerTimeShared()));
+        }
+        return vmList;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getNumVMs() {
+        return vmMips.length;
+    }
+
+    public double[] getVmMips() {
+        return vmMips.clone();
+    }
+
+    public int[] getVmPes() {
+        return vmPes.clone();
+    }
+
+    public double[] getVmReadyTimes() {
+        return vmReadyTimes.clone();
+    }
+
+    public VmTier getVmTier(int vm) {
+        return tiers.get(vmTiers[vm]);
+    }
+
+    private SplittableRandom blockStream(long block) {
+        return RandomStreams.forName(seed, "tasks/" + block);
+    }
+
+    private class TaskLengthIterator implements PrimitiveIterator.OfLong {
+        private long next;
+        private final long end;
+        private SplittableRandom random;
+
+        TaskLengthIterator(long from, long count) {
+            if (from < 0 || count < 0) {
+                throw new IllegalArgumentException("Invalid task range " + from + " + " + count);
+            }
+            next = from;
+            end = from + count;
+            if (count > 0 && from % BLOCK_SIZE != 0) {
+                // Replay the start of the block, so task i is the same whichever range it is read in
+                random = blockStream(from / BLOCK_SIZE);
+                for (long skip = from % BLOCK_SIZE; skip > 0; skip--) {
+                    lengths.sample(random);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < end;
+        }
+
+        @Override
+        public long nextLong() {
+            if (next >= end) {
+                throw new NoSuchElementException();
+            }
+            if (next % BLOCK_SIZE == 0) {
+                random = blockStream(next / BLOCK_SIZE);
+            }
+            next++;
+            return lengths.sample(random);
+        }
+    }
+}
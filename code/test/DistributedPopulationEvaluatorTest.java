@@ -0,0 +1,141 @@
+package org.fog.test.perfeval;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DistributedPopulationEvaluatorTest {
+
+    @Test
+    void loopbackWorkersMatchTheKernel() {
+        FitnessContext context = new FitnessContext(IncrementalEvaluatorTest.randomProblem(50, 12, new SplittableRandom(1)));
+        Population population = randomPopulation(context, 30, new SplittableRandom(2));
+        try (DistributedPopulationEvaluator evaluator = DistributedPopulationEvaluator.loopback(context, 3)) {
+            for (int generation = 0; generation < 3; generation++) {
+                evaluator.evaluate(population);
+                int[] solution = new int[context.getNumTasks()];
+                for (int i = 0; i < population.size(); i++) {
+                    population.copyTo(i, solution);
+                    assertEquals(context.evaluate(solution), population.getFitness(i));
+                }
+                population.set(generation, 0, (population.get(generation, 0) + 1) % context.getNumVMs()); // Exercise deltas
+            }
+        }
+    }
+
+    @Test
+    void cacheMissesAreSentAsDeltasAgainstTheirOwnRow() {
+        SchedulingProblem problem = IncrementalEvaluatorTest.randomProblem(200, 12, new SplittableRandom(4));
+        FitnessContext context = new FitnessContext(problem);
+        Population population = randomPopulation(context, 40, new SplittableRandom(5));
+        DistributedPopulationEvaluator distributed = DistributedPopulationEvaluator.loopback(context, 2);
+        try (CachingPopulationEvaluator evaluator = new CachingPopulationEvaluator(distributed,
+                new SolutionCache(context.getNumVMs(), 1024))) {
+            evaluator.evaluate(population);
+            long setupAndFirstGeneration = distributed.getMetrics().getBytesSent();
+
+            // Even individuals hit the cache; every odd one changes a single gene
+            for (int i = 1; i < population.size(); i += 2) {
+                population.set(i, i, (population.get(i, i) + 1) % context.getNumVMs());
+            }
+            evaluator.evaluate(population);
+
+            long sent = distributed.getMetrics().getBytesSent() - setupAndFirstGeneration;
+            int misses = population.size() / 2;
+            // A one-gene delta takes a few bytes, a full row of 200 genes at least 200
+            assertTrue(sent < 2 * 16 + misses * 8, sent + " bytes for " + misses + " one-gene deltas");
+            int[] solution = new int[context.getNumTasks()];
+            for (int i = 0; i < population.size(); i++) {
+                population.copyTo(i, solution);
+                assertEquals(context.evaluate(solution), population.getFitness(i));
+            }
+        }
+    }
+
+    @Test
+    void workerFailureReachesTheCoordinator() {
+        FitnessContext context = new FitnessContext(IncrementalEvaluatorTest.randomProblem(5, 3, new SplittableRandom(3)));
+        Population population = new Population(2, 5, 8);
+        population.set(1, 2, 6); // No VM 6 in a 3-VM problem
+        try (DistributedPopulationEvaluator evaluator = DistributedPopulationEvaluator.loopback(context, 1)) {
+            UncheckedIOException error = assertThrows(UncheckedIOException.class, () -> evaluator.evaluate(population));
+            assertTrue(error.getCause().getMessage().contains("VM index 6"), error.getCause().getMessage());
+        }
+    }
+
+    @Test
+    void failedEvaluationClosesEveryWorker() {
+        FitnessContext context = new FitnessContext(IncrementalEvaluatorTest.randomProblem(5, 3, new SplittableRandom(6)));
+        Population population = new Population(4, 5, 8);
+        population.set(0, 2, 6); // Only the first worker's shard is invalid
+        List<TrackingChannel> channels = new ArrayList<>();
+        for (int w = 0; w < 2; w++) {
+            LoopbackChannel[] pair = LoopbackChannel.pair();
+            Thread worker = new Thread(new EvaluationWorker(pair[1]));
+            worker.setDaemon(true);
+            worker.start();
+            channels.add(new TrackingChannel(pair[0], false));
+        }
+        DistributedPopulationEvaluator evaluator = new DistributedPopulationEvaluator(context, channels);
+
+        assertThrows(UncheckedIOException.class, () -> evaluator.evaluate(population));
+        assertTrue(channels.get(0).closed && channels.get(1).closed);
+        assertThrows(IllegalStateException.class, () -> evaluator.evaluate(population));
+    }
+
+    @Test
+    void failedSetupClosesEveryChannel() {
+        FitnessContext context = new FitnessContext(IncrementalEvaluatorTest.randomProblem(5, 3, new SplittableRandom(7)));
+        List<TrackingChannel> channels = Arrays.asList(new TrackingChannel(LoopbackChannel.pair()[0], false),
+                new TrackingChannel(LoopbackChannel.pair()[0], true));
+
+        assertThrows(UncheckedIOException.class, () -> new DistributedPopulationEvaluator(context, channels));
+        assertTrue(channels.get(0).closed && channels.get(1).closed);
+    }
+
+    // Records close(); optionally fails every send, like a connection that dropped
+    private static class TrackingChannel implements EvaluationChannel {
+        private final EvaluationChannel channel;
+        private final boolean failSend;
+        boolean closed;
+
+        TrackingChannel(EvaluationChannel channel, boolean failSend) {
+            this.channel = channel;
+            this.failSend = failSend;
+        }
+
+        @Override
+        public void send(byte[] message) throws IOException {
+            if (failSend) {
+                throw new IOException("Connection reset");
+            }
+            channel.send(message);
+        }
+
+        @Override
+        public byte[] receive() throws IOException {
+            return channel.receive();
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            channel.close();
+        }
+    }
+
+    private static Population randomPopulation(FitnessContext context, int size, SplittableRandom random) {
+        Population population = new Population(size, context.getNumTasks(), context.getNumVMs());
+        for (int i = 0; i < size; i++) {
+            population.copyFrom(IncrementalEvaluatorTest.randomSolution(context, random), i);
+        }
+        return population;
+    }
+}
@@ -0,0 +1,74 @@
+package org.fog.test.perfeval;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExperimentWorkloadTest {
+
+    @Test
+    void generatedWorkloadIsTheGeneratorsFirstWindow() {
+        SchedulerConfig config = SchedulerConfig.defaults();
+        SchedulingProblem problem = ExperimentWorkload.parse("300x20/pareto", config).getProblem();
+        SchedulingProblem window = new WorkloadGenerator(config.getRandomSeed(), TaskLengthDistribution.parse("pareto"),
+                WorkloadGenerator.fogCloudFleet(20)).window(0, 300);
+
+        assertEquals(300, problem.getNumTasks());
+        assertEquals(20, problem.getNumVMs());
+        for (int task = 0; task < 300; task++) {
+            assertEquals(window.getTaskLength(task), problem.getTaskLength(task));
+        }
+        for (int vm = 0; vm < 20; vm++) {
+            assertEquals(window.getVmMips(vm), problem.getVmMips(vm));
+            assertEquals(window.getVmReadyTime(vm), problem.getVmReadyTime(vm));
+        }
+    }
+
+    @Test
+    void workloadTooLargeForOneEtcMatrixIsRejected() {
+        // 5 * 10^8 entries: above MAX_ETC_ENTRIES, rejected before any task is generated
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> ExperimentWorkload.parse("1000000x500/pareto", SchedulerConfig.defaults()));
+        assertTrue(e.getMessage().contains("MAX_ETC_ENTRIES"), e.getMessage());
+        assertThrows(IllegalArgumentException.class,
+                () -> ExperimentWorkload.parse("100000x100000", SchedulerConfig.defaults()));
+    }
+
+    @Test
+    void trialsShareOneContextPerWorkload() {
+        ExperimentWorkload workload = ExperimentWorkload.parse("200x16", SchedulerConfig.defaults());
+        FitnessContext context = workload.getContext(0.5);
+        assertSame(context, workload.getContext(0.5));
+
+        FitnessContext other = workload.getContext(0.25);
+        assertEquals(0.25, other.getAlpha());
+        assertSame(context.executionTimes, other.executionTimes); // Another alpha, same ETC matrix
+
+        workload.releaseContext();
+        assertNotSame(context, workload.getContext(0.5));
+    }
+
+    @Test
+    void sharedContextGivesTheSameResult() {
+        SchedulerConfig config = SchedulerConfig.defaults().with("maxIterations", "20");
+        ExperimentWorkload workload = ExperimentWorkload.parse("200x16", config);
+        for (String algorithm : new String[]{"MPA", "PSO"}) {
+            ExperimentTrial trial = new ExperimentTrial(0, algorithm, workload, config);
+            SchedulingResult shared = trial.run();
+            SchedulingResult own = PopulationOptimizer.create(algorithm,
+                    config.randomStream(algorithm + "/" + workload.getName()), config).optimize(workload.getProblem());
+            assertEquals(own.getFitness(), shared.getFitness(), algorithm);
+        }
+        PopulationOptimizer optimizer = PopulationOptimizer.create("MPA", config.randomStream("x"), config);
+        assertThrows(IllegalArgumentException.class,
+                () -> optimizer.optimize(workload.getProblem(), workload.getContext(config.getAlpha() / 2)));
+    }
+
+    @Test
+    void etcSizeDoesNotOverflow() {
+        // 2^31 - 1 squared wraps around as an int product
+        assertThrows(IllegalArgumentException.class,
+                () -> FitnessContext.etcEntries(Integer.MAX_VALUE, Integer.MAX_VALUE));
+        assertEquals(Constants.MAX_ETC_ENTRIES, FitnessContext.etcEntries(Constants.MAX_ETC_ENTRIES / 8, 8));
+    }
+}
@@ -0,0 +1,125 @@
+package org.fog.test.perfeval;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.CloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.UtilizationModelFull;
+import org.cloudbus.cloudsim.Vm;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FitnessKernelTest {
+
+    @Test
+    void matchesTheLegacyMatrixPathExactly() {
+        for (int numVMs : new int[]{1, 2, 7, 60}) {
+            for (int numTasks : new int[]{1, 12, 300}) {
+                SchedulingProblem problem = IncrementalEvaluatorTest.randomProblem(numTasks, numVMs,
+                        new SplittableRandom(numTasks * 100 + numVMs));
+                checkAgainstLegacy(problem, new SplittableRandom(numVMs));
+            }
+        }
+    }
+
+    @Test
+    void matchesTheLegacyMatrixPathWhenVmsAreBusy() {
+        for (int numVMs : new int[]{1, 3, 16}) {
+            SchedulingProblem problem = IncrementalEvaluatorTest.withReadyTimes(
+                    IncrementalEvaluatorTest.randomProblem(5 * numVMs, numVMs, new SplittableRandom(numVMs)),
+                    new SplittableRandom(70 + numVMs));
+            checkAgainstLegacy(problem, new SplittableRandom(numVMs));
+        }
+    }
+
+    @Test
+    void batchEvaluationEqualsSingleEvaluationExactly() {
+        SchedulingProblem problem = IncrementalEvaluatorTest.withReadyTimes(
+                IncrementalEvaluatorTest.randomProblem(97, 11, new SplittableRandom(5)), new SplittableRandom(6));
+        FitnessContext context = new FitnessContext(problem);
+        for (GeneEncoding encoding : new GeneEncoding[]{GeneEncoding.INT, GeneEncoding.BYTE, GeneEncoding.PACKED}) {
+            // Not multiples of INTERLEAVE, so the tail runs too
+            for (int size : new int[]{1, FitnessKernel.INTERLEAVE - 1, 2 * FitnessKernel.INTERLEAVE + 3, 30}) {
+                Population population = new Population(size, context.getNumTasks(), context.getNumVMs(), encoding);
+                SplittableRandom random = new SplittableRandom(size);
+                for (int i = 0; i < size; i++) {
+                    population.copyFrom(IncrementalEvaluatorTest.randomSolution(context, random), i);
+                }
+                double[] batch = new double[size];
+                new FitnessKernel(context).evaluateBatch(population, batch);
+
+                FitnessKernel single = new FitnessKernel(context);
+                int[] solution = new int[context.getNumTasks()];
+                for (int i = 0; i < size; i++) {
+                    population.copyTo(i, solution);
+                    assertEquals(single.evaluate(solution), batch[i], encoding + ", " + size + " individuals, #" + i);
+                }
+                // A range that starts inside a block
+                double[] range = new double[size];
+                new FitnessKernel(context).evaluateBatch(population, size / 3, size, range);
+                for (int i = size / 3; i < size; i++) {
+                    assertEquals(batch[i], range[i]);
+                }
+            }
+        }
+    }
+
+    // Exact comparisons: the kernel must sum in the legacy order, not just come close
+    private static void checkAgainstLegacy(SchedulingProblem problem, SplittableRandom random) {
+        FitnessContext context = new FitnessContext(problem);
+        FitnessKernel kernel = new FitnessKernel(context);
+        List<Cloudlet> cloudletList = cloudlets(problem);
+        List<Vm> vmList = vms(problem);
+        double[][] taskExecutionTimes = Common.calculateTaskExecutionTimes(cloudletList, vmList);
+
+        for (int trial = 0; trial < 20; trial++) {
+            int[] solution = IncrementalEvaluatorTest.randomSolution(context, random);
+            double makespan = legacyMakespan(solution, taskExecutionTimes, cloudletList, vmList, problem);
+            double energy = Common.calculateTotalEnergyConsumption(solution, taskExecutionTimes, makespan, vmList);
+
+            assertEquals(makespan, kernel.calculateMakespan(solution));
+            assertEquals(energy, kernel.calculateTotalEnergyConsumption(solution, makespan));
+            assertEquals(Common.calculateFitness(context.getAlpha(), energy, makespan), kernel.evaluate(solution));
+        }
+    }
+
+    // Common.calculateMakespan starts every VM at 0; for busy VMs the same loop starts at the ready times
+    private static double legacyMakespan(int[] solution, double[][] taskExecutionTimes, List<Cloudlet> cloudletList,
+                                         List<Vm> vmList, SchedulingProblem problem) {
+        double[] completionTimes = new double[vmList.size()];
+        double makespan = 0;
+        for (int vm = 0; vm < completionTimes.length; vm++) {
+            completionTimes[vm] = problem.getVmReadyTime(vm);
+            makespan = Math.max(makespan, completionTimes[vm]);
+        }
+        if (makespan == 0) {
+            return Common.calculateMakespan(solution, taskExecutionTimes, cloudletList, vmList);
+        }
+        for (int task = 0; task < solution.length; task++) {
+            completionTimes[solution[task]] += taskExecutionTimes[task][solution[task]];
+            makespan = Math.max(makespan, completionTimes[solution[task]]);
+        }
+        return makespan;
+    }
+
+    private static List<Cloudlet> cloudlets(SchedulingProblem problem) {
+        List<Cloudlet> cloudletList = new ArrayList<>();
+        for (int task = 0; task < problem.getNumTasks(); task++) {
+            cloudletList.add(new Cloudlet(task, problem.getTaskLength(task), 1, 300, 300,
+                    new UtilizationModelFull(), new UtilizationModelFull(), new UtilizationModelFull()));
+        }
+        return cloudletList;
+    }
+
+    private static List<Vm> vms(SchedulingProblem problem) {
+        List<Vm> vmList = new ArrayList<>();
+        for (int vm = 0; vm < problem.getNumVMs(); vm++) {
+            vmList.add(new Vm(vm, 0, problem.getVmMips(vm), problem.getVmPes(vm), 512, 1000, 10000, "Xen",
+                    new CloudletSchedulerTimeShared()));
+        }
+        return vmList;
+    }
+}
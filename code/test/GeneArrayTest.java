@@ -0,0 +1,101 @@
+package org.fog.test.perfeval;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeneArrayTest {
+
+    @Test
+    void packedDecodeCrossesWordBoundaries() {
+        // 3 bits: 21 genes per word, not a power of two, and one bit of every word unused
+        PackedGeneArray genes = new PackedGeneArray(3, 100);
+        int[] expected = fill(genes, 8, new SplittableRandom(1));
+        for (int from : new int[]{0, 1, 20, 21, 22, 41, 62, 63, 99}) {
+            for (int count : new int[]{0, 1, 2, 21, 22, 100 - from}) {
+                if (from + count > 100) {
+                    continue;
+                }
+                int[] decoded = new int[count + 2];
+                genes.decode(from, decoded, 1, count);
+                for (int i = 0; i < count; i++) {
+                    assertEquals(expected[from + i], decoded[1 + i], "gene " + (from + i) + " decoded from " + from);
+                }
+                assertEquals(0, decoded[0]);
+                assertEquals(0, decoded[count + 1]);
+            }
+        }
+    }
+
+    @Test
+    void packedSetLeavesNeighboursAlone() {
+        PackedGeneArray genes = new PackedGeneArray(3, 64);
+        int[] expected = fill(genes, 8, new SplittableRandom(2));
+        for (int index : new int[]{0, 20, 21, 41, 42, 63}) {
+            genes.set(index, 7 - expected[index]);
+            expected[index] = 7 - expected[index];
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(expected[i], genes.get(i), "gene " + i + " after setting " + index);
+            }
+        }
+    }
+
+    @Test
+    void packedAlignedCopyMovesWholeWordsAndTheTail() {
+        PackedGeneArray source = new PackedGeneArray(3, 105);
+        int[] expected = fill(source, 8, new SplittableRandom(3));
+        PackedGeneArray target = new PackedGeneArray(3, 105);
+        int[] before = fill(target, 8, new SplittableRandom(4));
+
+        source.copyTo(21, target, 42, 50); // Two whole words, then 8 genes one by one
+        for (int i = 0; i < 105; i++) {
+            int want = i >= 42 && i < 92 ? expected[i - 42 + 21] : before[i];
+            assertEquals(want, target.get(i), "gene " + i);
+        }
+    }
+
+    @Test
+    void everyEncodingRoundTripsItsLargestVmIndex() {
+        int[] limits = {Integer.MAX_VALUE, 1 << 16, 1 << 8, 5, 8, 1 << 16};
+        GeneEncoding[] encodings = {GeneEncoding.INT, GeneEncoding.SHORT, GeneEncoding.BYTE, GeneEncoding.PACKED,
+                GeneEncoding.PACKED, GeneEncoding.PACKED};
+        for (int e = 0; e < encodings.length; e++) {
+            int numVMs = limits[e];
+            GeneArray genes = GeneArray.allocate(encodings[e], numVMs, 50);
+            int[] solution = new int[50];
+            for (int i = 0; i < solution.length; i++) {
+                solution[i] = i % 2 == 0 ? numVMs - 1 : i % numVMs;
+            }
+            genes.encode(solution, 0, 0, 50);
+
+            int[] decoded = new int[50];
+            genes.decode(0, decoded, 0, 50);
+            assertArrayEquals(solution, decoded, encodings[e] + " with " + numVMs + " VMs");
+            GeneArray copy = GeneArray.allocate(GeneEncoding.INT, numVMs, 50);
+            genes.copyTo(0, copy, 0, 50);
+            for (int i = 0; i < solution.length; i++) {
+                assertEquals(solution[i], copy.get(i));
+            }
+        }
+    }
+
+    @Test
+    void explicitEncodingTooNarrowForTheVmsIsRejected() {
+        assertEquals(GeneEncoding.BYTE, GeneEncoding.BYTE.resolve(256));
+        assertThrows(IllegalArgumentException.class, () -> GeneEncoding.BYTE.resolve(257));
+        assertEquals(GeneEncoding.SHORT, GeneEncoding.SHORT.resolve(1 << 16));
+        assertThrows(IllegalArgumentException.class, () -> GeneEncoding.SHORT.resolve((1 << 16) + 1));
+        assertThrows(IllegalArgumentException.class, () -> new Population(10, 20, 300, GeneEncoding.BYTE));
+    }
+
+    private static int[] fill(GeneArray genes, int numVMs, SplittableRandom random) {
+        int[] values = new int[genes.length()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(numVMs);
+            genes.set(i, values[i]);
+        }
+        return values;
+    }
+}
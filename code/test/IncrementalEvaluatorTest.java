@@ -0,0 +1,170 @@
+package org.fog.test.perfeval;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalEvaluatorTest {
+    private static final double TOLERANCE = 1e-9;
+
+    @Test
+    void movesAgreeWithFullEvaluation() {
+        for (int numVMs : new int[]{2, 3, 7, 16, 33}) {
+            FitnessContext context = new FitnessContext(randomProblem(40, numVMs, new SplittableRandom(numVMs)));
+            checkRandomMoves(context, new SplittableRandom(1000 + numVMs));
+        }
+    }
+
+    @Test
+    void movesAgreeWithFullEvaluationWhenVmsAreBusy() {
+        // Few tasks per VM, so VMs empty and refill often; the busy VMs must keep their ready time
+        for (int numVMs : new int[]{2, 5, 16}) {
+            SchedulingProblem problem = withReadyTimes(randomProblem(2 * numVMs, numVMs, new SplittableRandom(numVMs)),
+                    new SplittableRandom(50 + numVMs));
+            checkRandomMoves(new FitnessContext(problem), new SplittableRandom(2000 + numVMs));
+        }
+    }
+
+    @Test
+    void emptiedVmKeepsItsReadyTime() {
+        // VM 1 is 10 s away, far more than any task takes: the makespan is its ready time whether
+        // or not it has tasks, and moving its last task away and back must not change that
+        SchedulingProblem problem = new SchedulingProblem(new long[]{1000, 1000}, new double[]{1000, 1000},
+                new int[]{1, 1}, new double[]{0, 10});
+        FitnessContext context = new FitnessContext(problem);
+        IncrementalEvaluator evaluator = new IncrementalEvaluator(context);
+        evaluator.reset(new int[]{0, 1});
+        assertEquals(11, evaluator.getMakespan(), TOLERANCE);
+
+        evaluator.move(1, 1, 0);
+        assertEquals(10, evaluator.getMakespan(), TOLERANCE);
+        assertEquals(context.evaluate(new int[]{0, 0}), evaluator.fitness(), TOLERANCE);
+        evaluator.undo();
+        assertEquals(11, evaluator.getMakespan(), TOLERANCE);
+        assertEquals(context.evaluate(new int[]{0, 1}), evaluator.fitness(), TOLERANCE);
+    }
+
+    @Test
+    void undoRestoresTheSolutionInReverseOrder() {
+        FitnessContext context = new FitnessContext(randomProblem(30, 5, new SplittableRandom(7)));
+        SplittableRandom random = new SplittableRandom(8);
+        int[] solution = randomSolution(context, random);
+        IncrementalEvaluator evaluator = new IncrementalEvaluator(context);
+        evaluator.reset(solution);
+        double initialFitness = evaluator.fitness();
+
+        for (int m = 0; m < 50; m++) {
+            moveAtRandom(evaluator, random);
+        }
+        while (evaluator.undo()) {
+            // Unwind the whole log
+        }
+        int[] assignment = new int[solution.length];
+        evaluator.copyAssignment(assignment);
+        assertArrayEquals(solution, assignment);
+        assertEquals(initialFitness, evaluator.fitness(), TOLERANCE);
+        assertEquals(context.evaluate(solution), evaluator.fitness(), TOLERANCE);
+    }
+
+    @Test
+    void committedMovesCannotBeUndone() {
+        FitnessContext context = new FitnessContext(randomProblem(10, 3, new SplittableRandom(9)));
+        IncrementalEvaluator evaluator = new IncrementalEvaluator(context);
+        evaluator.reset(new int[10]);
+        evaluator.move(4, 0, 2);
+        evaluator.commit();
+        assertFalse(evaluator.undo());
+        assertEquals(2, evaluator.getAssignedVm(4));
+        assertThrows(IllegalArgumentException.class, () -> evaluator.move(4, 0, 1));
+    }
+
+    @Test
+    void refineSolutionNeverWorsensTheFitness() {
+        FitnessContext context = new FitnessContext(randomProblem(60, 8, new SplittableRandom(11)));
+        SplittableRandom random = new SplittableRandom(12);
+        int[] solution = randomSolution(context, random);
+        double before = context.evaluate(solution);
+        Common.refineSolution(solution, new IncrementalEvaluator(context), random, 500);
+        assertTrue(context.evaluate(solution) <= before + TOLERANCE);
+    }
+
+    // Applies random moves, undoing about a third of them, and checks every step against the kernel
+    static void checkRandomMoves(FitnessContext context, SplittableRandom random) {
+        int[] solution = randomSolution(context, random);
+        IncrementalEvaluator evaluator = new IncrementalEvaluator(context);
+        evaluator.reset(solution);
+        assertEquals(context.evaluate(solution), evaluator.fitness(), TOLERANCE, "after reset");
+
+        int[] assignment = new int[solution.length];
+        for (int m = 0; m < 300; m++) {
+            double fitness = moveAtRandom(evaluator, random);
+            evaluator.copyAssignment(assignment);
+            assertEquals(context.evaluate(assignment), fitness, TOLERANCE, "after move " + m);
+            assertEquals(context.calculateMakespan(assignment), evaluator.getMakespan(), TOLERANCE, "makespan after move " + m);
+            if (random.nextInt(3) == 0) {
+                assertTrue(evaluator.undo());
+                evaluator.copyAssignment(assignment);
+                assertEquals(context.evaluate(assignment), evaluator.fitness(), TOLERANCE, "after undo " + m);
+            } else if (random.nextInt(4) == 0) {
+                evaluator.commit();
+            }
+        }
+    }
+
+    // Moves a random task to another random VM; with few tasks per VM, VMs empty and refill often
+    private static double moveAtRandom(IncrementalEvaluator evaluator, SplittableRandom random) {
+        int task = random.nextInt(countTasks(evaluator));
+        int fromVm = evaluator.getAssignedVm(task);
+        int toVm = random.nextInt(evaluator.getNumVMs() - 1);
+        if (toVm >= fromVm) {
+            toVm++;
+        }
+        return evaluator.move(task, fromVm, toVm);
+    }
+
+    private static int countTasks(IncrementalEvaluator evaluator) {
+        int tasks = 0;
+        for (int vm = 0; vm < evaluator.getNumVMs(); vm++) {
+            tasks += evaluator.getTaskCount(vm);
+        }
+        return tasks;
+    }
+
+    static SchedulingProblem randomProblem(int numTasks, int numVMs, SplittableRandom random) {
+        long[] taskLengths = new long[numTasks];
+        for (int task = 0; task < numTasks; task++) {
+            taskLengths[task] = 100 + random.nextInt(1401);
+        }
+        double[] vmMips = new double[numVMs];
+        for (int vm = 0; vm < numVMs; vm++) {
+            vmMips[vm] = 500 + 500 * random.nextInt(8);
+        }
+        return new SchedulingProblem(taskLengths, vmMips);
+    }
+
+    static SchedulingProblem withReadyTimes(SchedulingProblem problem, SplittableRandom random) {
+        long[] taskLengths = new long[problem.getNumTasks()];
+        for (int task = 0; task < taskLengths.length; task++) {
+            taskLengths[task] = problem.getTaskLength(task);
+        }
+        double[] vmMips = new double[problem.getNumVMs()];
+        int[] vmPes = new int[vmMips.length];
+        double[] vmReadyTimes = new double[vmMips.length];
+        for (int vm = 0; vm < vmMips.length; vm++) {
+            vmMips[vm] = problem.getVmMips(vm);
+            vmPes[vm] = problem.getVmPes(vm);
+            vmReadyTimes[vm] = random.nextInt(3) == 0 ? 0 : random.nextDouble(); // Up to 1 s, like a few tasks
+        }
+        return new SchedulingProblem(taskLengths, vmMips, vmPes, vmReadyTimes);
+    }
+
+    static int[] randomSolution(FitnessContext context, SplittableRandom random) {
+        int[] solution = new int[context.getNumTasks()];
+        for (int task = 0; task < solution.length; task++) {
+            solution[task] = random.nextInt(context.getNumVMs());
+        }
+        return solution;
+    }
+}
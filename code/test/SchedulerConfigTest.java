@@ -0,0 +1,80 @@
+package org.fog.test.perfeval;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchedulerConfigTest {
+
+    @Test
+    void everyKeyChangesOnlyItsOwnSetting() {
+        String[][] settings = {
+                {"maxIterations", "7"}, {"populationSize", "9"}, {"fi", "3"}, {"pr", "4"}, {"pit", "5"},
+                {"alpha", "0.25"}, {"evaluationThreads", "2"}, {"randomSeed", "11"}, {"vmCount", "6"},
+                {"vmCount2", "8"}, {"cloudletLengths1", "10,20"}, {"cloudletLengths2", "30"},
+                {"localSearchMoves", "12"}, {"seededFraction", "0.5"}, {"aggregateVmTypes", "true"},
+                {"noImprovementIterations", "13"}, {"convergenceDelta", "0.01"}, {"convergenceWindow", "14"},
+                {"timeBudgetMs", "15"}, {"evaluationBudget", "16"}, {"deadlineMicros", "17"}};
+        SchedulerConfig config = SchedulerConfig.defaults();
+        for (String[] setting : settings) {
+            // toString lists every setting, so exactly one entry may differ
+            String[] was = config.toString().split(" (?=\\w+=)");
+            config = config.with(setting[0], setting[1]);
+            String[] now = config.toString().split(" (?=\\w+=)");
+            assertEquals(was.length, now.length);
+            for (int i = 0; i < was.length; i++) {
+                if (now[i].startsWith(setting[0] + "=")) {
+                    assertNotEquals(was[i], now[i], setting[0]);
+                } else {
+                    assertEquals(was[i], now[i], "after setting " + setting[0]);
+                }
+            }
+        }
+        assertEquals(7, config.getMaxIterations());
+        assertEquals(3, config.getFi());
+        assertArrayEquals(new int[]{10, 20}, config.getCloudletLengths1());
+        assertEquals(8, config.getVmCount2());
+        assertEquals(13, config.getNoImprovementIterations());
+        assertEquals(0.01, config.getConvergenceDelta());
+        assertEquals(14, config.getConvergenceWindow());
+        assertEquals(15, config.getTimeBudgetMs());
+        assertEquals(16, config.getEvaluationBudget());
+        assertEquals(17, config.getDeadlineMicros());
+    }
+
+    @Test
+    void invalidBudgetsAreRejected() {
+        SchedulerConfig config = SchedulerConfig.defaults();
+        assertThrows(IllegalArgumentException.class, () -> config.with("timeBudgetMs", "-1"));
+        assertThrows(IllegalArgumentException.class, () -> config.with("evaluationBudget", "-1"));
+        assertThrows(IllegalArgumentException.class, () -> config.with("deadlineMicros", "-1"));
+        assertThrows(IllegalArgumentException.class, () -> config.with("noImprovementIterations", "-1"));
+        assertThrows(IllegalArgumentException.class, () -> config.with("convergenceDelta", "-0.5"));
+        assertThrows(IllegalArgumentException.class, () -> config.with("convergenceDelta", "NaN"));
+        assertThrows(IllegalArgumentException.class, () -> config.with("convergenceWindow", "0"));
+    }
+
+    @Test
+    void budgetsFromTheConfigStopTheOptimizer() {
+        SchedulerConfig base = SchedulerConfig.defaults().with("maxIterations", "1000").with("populationSize", "10");
+        SchedulingProblem problem = ExperimentWorkload.parse("100x8", base).getProblem();
+
+        SchedulingResult full = PopulationOptimizer.create("MPA", base.randomStream("x"), base.withMaxIterations(5))
+                .optimize(problem);
+        assertEquals(StopReason.MAX_ITERATIONS, full.getStopReason());
+
+        SchedulerConfig evaluations = base.with("evaluationBudget", "200");
+        SchedulingResult result = PopulationOptimizer.create("MPA", evaluations.randomStream("x"), evaluations)
+                .optimize(problem);
+        assertEquals(StopReason.EVALUATION_BUDGET, result.getStopReason());
+        assertTrue(result.getIterations() < 1000, "iterations " + result.getIterations());
+
+        SchedulerConfig deadline = base.with("maxIterations", "100000000").with("deadlineMicros", "20000");
+        result = PopulationOptimizer.create("MPA", deadline.randomStream("x"), deadline).optimize(problem);
+        assertEquals(StopReason.DEADLINE, result.getStopReason());
+
+        SchedulerConfig time = base.with("maxIterations", "100000000").with("timeBudgetMs", "20");
+        result = PopulationOptimizer.create("MPA", time.randomStream("x"), time).optimize(problem);
+        assertEquals(StopReason.TIME_BUDGET, result.getStopReason());
+    }
+}
@@ -0,0 +1,52 @@
+package org.fog.test.perfeval;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationSessionPoolTest {
+
+    @Test
+    void twoScenariosRunConcurrentlyOnTwoSessions() throws Exception {
+        try (SimulationSessionPool pool = new SimulationSessionPool(2)) {
+            // Both are in flight at once, so each runs on its own session and CloudSim instance
+            Future<SimulationReport> mpa = pool.submit(OptimizerScenario.class,
+                    "--algorithm=MPA", "--workload=100x10", "--maxIterations=20");
+            Future<SimulationReport> pso = pool.submit(OptimizerScenario.class,
+                    "--algorithm=PSO", "--workload=60x6", "--maxIterations=20");
+
+            SimulationReport first = mpa.get();
+            assertEquals("MPA", first.getAlgorithm());
+            assertEquals(10, first.getVmsCreated());
+            assertEquals(100, first.getCloudletsReceived());
+            SimulationReport second = pso.get();
+            assertEquals("PSO", second.getAlgorithm());
+            assertEquals(6, second.getVmsCreated());
+            assertEquals(60, second.getCloudletsReceived());
+        }
+    }
+
+    @Test
+    void sessionsBuiltBeforeAFailureAreClosed() {
+        AtomicInteger made = new AtomicInteger();
+        AtomicInteger closed = new AtomicInteger();
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> new SimulationSessionPool(3, () -> {
+                    if (made.incrementAndGet() == 3) {
+                        throw new IllegalStateException("third session");
+                    }
+                    return new SimulationSession() {
+                        @Override
+                        public void close() {
+                            closed.incrementAndGet();
+                            super.close();
+                        }
+                    };
+                }));
+        assertEquals("third session", e.getMessage());
+        assertEquals(2, closed.get());
+    }
+}
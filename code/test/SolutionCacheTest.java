@@ -0,0 +1,142 @@
+package org.fog.test.perfeval;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolutionCacheTest {
+    // A capacity of 8 gives a 16-slot table; hashes below 2^32 then have their low 4 bits as home slot
+    private static final int CAPACITY = 8;
+
+    @Test
+    void clockEvictsTheFirstUnreferencedEntry() {
+        SolutionCache cache = new SolutionCache(4, 4);
+        for (int k = 0; k < 4; k++) {
+            cache.put(hash(k, 0), check(k), k);
+        }
+        cache.put(hash(4, 0), check(4), 4); // Every entry referenced: the hand clears them all, then evicts key 0
+        assertEquals(4.0, cache.lookup(hash(4, 0), check(4)));
+        assertEquals(1.0, cache.lookup(hash(1, 0), check(1))); // Referenced again, so the hand passes it
+        cache.put(hash(5, 0), check(5), 5); // Evicts key 2
+
+        assertTrue(Double.isNaN(cache.lookup(hash(0, 0), check(0))));
+        assertTrue(Double.isNaN(cache.lookup(hash(2, 0), check(2))));
+        for (int k : new int[]{1, 3, 4, 5}) {
+            assertEquals(k, cache.lookup(hash(k, 0), check(k)), "key " + k);
+        }
+        assertEquals(6, cache.getHits());
+        assertEquals(2, cache.getMisses());
+        assertEquals(2, cache.getEvictions());
+        assertEquals(4, cache.size());
+    }
+
+    @Test
+    void agreesWithAReferenceClockUnderCollidingHomes() {
+        // 40 keys on 4 home slots, one of them the last slot so probe chains wrap around the table
+        int[] homes = {0, 1, 2, 15};
+        long[] hashes = new long[40];
+        for (int k = 0; k < hashes.length; k++) {
+            hashes[k] = hash(k, homes[k % homes.length]);
+        }
+        SolutionCache cache = new SolutionCache(4, CAPACITY);
+        ReferenceClock model = new ReferenceClock(CAPACITY);
+        SplittableRandom random = new SplittableRandom(1);
+
+        for (int op = 1; op <= 5000; op++) {
+            int k = random.nextInt(hashes.length);
+            if (random.nextInt(5) < 3) {
+                double fitness = op;
+                cache.put(hashes[k], check(k), fitness);
+                model.put(k, fitness);
+            } else {
+                assertEquals(model.lookup(k), cache.lookup(hashes[k], check(k)), "op " + op + ", key " + k);
+            }
+            if (op % 100 == 0) {
+                // Every resident entry is found, every evicted one misses
+                for (int key = 0; key < hashes.length; key++) {
+                    assertEquals(model.lookup(key), cache.lookup(hashes[key], check(key)), "op " + op + ", key " + key);
+                }
+                assertEquals(model.size, cache.size());
+            }
+        }
+        assertEquals(model.hits, cache.getHits());
+        assertEquals(model.misses, cache.getMisses());
+        assertEquals(model.evictions, cache.getEvictions());
+    }
+
+    @Test
+    void equalHashesWithDifferentChecksAreDifferentEntries() {
+        SolutionCache cache = new SolutionCache(4, CAPACITY);
+        cache.put(hash(1, 3), 10, 1.0);
+        cache.put(hash(1, 3), 11, 2.0);
+        assertEquals(1.0, cache.lookup(hash(1, 3), 10));
+        assertEquals(2.0, cache.lookup(hash(1, 3), 11));
+        assertTrue(Double.isNaN(cache.lookup(hash(1, 3), 12)));
+    }
+
+    private static long hash(int key, int home) {
+        return ((long) key << 4) | home;
+    }
+
+    private static long check(int key) {
+        return 31L * key + 7;
+    }
+
+    // Straightforward CLOCK over key ids: the behaviour SolutionCache must reproduce
+    private static class ReferenceClock {
+        final int[] keys;
+        final double[] fitnesses;
+        final boolean[] referenced;
+        int size;
+        int hand;
+        long hits;
+        long misses;
+        long evictions;
+
+        ReferenceClock(int capacity) {
+            keys = new int[capacity];
+            fitnesses = new double[capacity];
+            referenced = new boolean[capacity];
+        }
+
+        void put(int key, double fitness) {
+            int entry = indexOf(key);
+            if (entry < 0 && size < keys.length) {
+                entry = size++;
+            } else if (entry < 0) {
+                while (referenced[hand]) {
+                    referenced[hand] = false;
+                    hand = (hand + 1) % keys.length;
+                }
+                entry = hand;
+                hand = (hand + 1) % keys.length;
+                evictions++;
+            }
+            keys[entry] = key;
+            fitnesses[entry] = fitness;
+            referenced[entry] = true;
+        }
+
+        double lookup(int key) {
+            int entry = indexOf(key);
+            if (entry < 0) {
+                misses++;
+                return Double.NaN;
+            }
+            hits++;
+            referenced[entry] = true;
+            return fitnesses[entry];
+        }
+
+        int indexOf(int key) {
+            for (int entry = 0; entry < size; entry++) {
+                if (keys[entry] == key) {
+                    return entry;
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package org.fog.test.perfeval;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WireFormatTest {
+
+    @Test
+    void varintsRoundTrip() throws IOException {
+        int[] values = {0, 1, 127, 128, 300, 16383, 16384, 1 << 21, Integer.MAX_VALUE, -1, Integer.MIN_VALUE};
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (int value : values) {
+            WireFormat.writeVarint(out, value);
+        }
+        DataInputStream in = input(bytes);
+        for (int value : values) {
+            assertEquals(value, WireFormat.readVarint(in));
+        }
+        assertEquals(0, in.available());
+    }
+
+    @Test
+    void smallVarintsTakeOneByte() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        WireFormat.writeVarint(new DataOutputStream(bytes), 127);
+        assertEquals(1, bytes.size());
+    }
+
+    @Test
+    void overlongVarintIsRejected() {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(new byte[]{-1, -1, -1, -1, -1, 1}));
+        assertThrows(IOException.class, () -> WireFormat.readVarint(in));
+    }
+
+    @Test
+    void fullSolutionRoundTrips() throws IOException {
+        int[] solution = {0, 5, 200, 3, 3, 129};
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        WireFormat.writeSolution(new DataOutputStream(bytes), solution, null);
+        assertEquals(WireFormat.FULL, bytes.toByteArray()[0]);
+
+        int[] received = new int[solution.length];
+        WireFormat.readSolution(input(bytes), received, 256);
+        assertArrayEquals(solution, received);
+    }
+
+    @Test
+    void deltaCarriesOnlyTheChangedGenes() throws IOException {
+        SplittableRandom random = new SplittableRandom(3);
+        int[] previous = new int[500];
+        for (int j = 0; j < previous.length; j++) {
+            previous[j] = random.nextInt(300);
+        }
+        int[] workerCopy = previous.clone();
+        int[] solution = previous.clone();
+        solution[0] = 7;
+        solution[250] = 299;
+        solution[499] = 1;
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        WireFormat.writeSolution(new DataOutputStream(bytes), solution, previous);
+        assertEquals(WireFormat.DELTA, bytes.toByteArray()[0]);
+        assertTrue(bytes.size() < 20, "delta of 3 genes took " + bytes.size() + " bytes");
+        assertArrayEquals(solution, previous); // The coordinator's copy follows the solution
+
+        WireFormat.readSolution(input(bytes), workerCopy, 300);
+        assertArrayEquals(solution, workerCopy);
+    }
+
+    @Test
+    void denseChangesAreSentInFull() throws IOException {
+        int[] previous = new int[10];
+        int[] solution = {1, 1, 1, 1, 1, 1, 0, 0, 0, 0};
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        WireFormat.writeSolution(new DataOutputStream(bytes), solution, previous);
+        assertEquals(WireFormat.FULL, bytes.toByteArray()[0]);
+    }
+
+    @Test
+    void outOfRangeGeneIsRejected() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        WireFormat.writeSolution(new DataOutputStream(bytes), new int[]{0, 4}, null);
+        assertThrows(IOException.class, () -> WireFormat.readSolution(input(bytes), new int[2], 4));
+    }
+
+    @Test
+    void setupRoundTrips() throws IOException {
+        SchedulingProblem problem = new SchedulingProblem(new long[]{100, 250, 4000}, new double[]{500, 2000},
+                new int[]{1, 1}, new double[]{0, 0.05});
+        FitnessContext context = new FitnessContext(problem, 0.3);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        WireFormat.writeSetup(new DataOutputStream(bytes), context);
+
+        DataInputStream in = input(bytes);
+        assertEquals(WireFormat.SETUP, in.readByte());
+        FitnessContext received = WireFormat.readSetup(in, in.available());
+        assertEquals(3, received.getNumTasks());
+        assertEquals(2, received.getNumVMs());
+        assertEquals(0.3, received.getAlpha());
+        assertArrayEquals(context.executionTimes, received.executionTimes);
+        assertArrayEquals(context.mips, received.mips);
+        assertArrayEquals(context.vmReadyTimes, received.vmReadyTimes);
+        int[] solution = {1, 0, 1};
+        assertEquals(context.evaluate(solution), received.evaluate(solution));
+    }
+
+    @Test
+    void setupLargerThanItsMessageIsRejected() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(1 << 30); // numTasks x numVMs would overflow an int and exhaust any heap
+        out.writeInt(1 << 30);
+        out.writeDouble(0.8);
+        DataInputStream in = input(bytes);
+        assertThrows(IOException.class, () -> WireFormat.readSetup(in, in.available()));
+    }
+
+    @Test
+    void errorRoundTrips() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        WireFormat.writeError(new DataOutputStream(bytes), new IllegalStateException("kernel failed"));
+        DataInputStream in = input(bytes);
+        assertEquals(WireFormat.ERROR, in.readByte());
+        assertEquals("java.lang.IllegalStateException: kernel failed", WireFormat.readError(in));
+    }
+
+    private static DataInputStream input(ByteArrayOutputStream bytes) {
+        return new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+}
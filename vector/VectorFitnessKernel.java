@@ -0,0 +1,133 @@
+package org.fog.test.perfeval;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link FitnessKernel} whose per-task work runs in SIMD lanes of the incubating Vector API:
+ * execution times are gathered from the ETC matrix and MIPS^2 from the VM table by VM index, and
+ * the energy terms and the flow time are computed and summed lane-wise. The makespan is exactly
+ * the scalar kernel's, but lane-wise sums round differently, so fitness values agree with it to
+ * about 1e-12 relative, not bit for bit.
+ *
+ * Lives in the fog-scheduling-vector module, the only one compiled with --add-modules
+ * jdk.incubator.vector, and is never referenced directly: FitnessKernel.create loads it by name and
+ * uses the scalar kernel when this jar or the incubator module is missing at run time.
+ */
+class VectorFitnessKernel extends FitnessKernel {
+    private static final VectorSpecies<Double> D = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> I = VectorSpecies.of(int.class, VectorShape.forBitSize(D.length() * Integer.SIZE));
+    private static final int LANES = D.length();
+
+    // Constants of Common.calculateTaskEnergyConsumptionSquared
+    private static final double K = 1e-8;
+    private static final double S = 0.6;
+
+    private final int numTasks;
+    private final int numVMs;
+    private final double[] executionTimes;
+    private final double[] mipsSquared;
+    private final double[] vmReadyTimes;
+    private final double initialMakespan;
+    private final double alpha;
+    private final IntVector laneRows; // lane * numVMs: ETC row offset of each lane relative to the first task
+
+    private final double[] completionTimes;
+    private final double[] taskTimes;
+    private final int[] gatherIndices = new int[LANES];
+
+    VectorFitnessKernel(FitnessContext context) {
+        super(context);
+        this.numTasks = context.numTasks;
+        this.numVMs = context.numVMs;
+        this.executionTimes = context.executionTimes;
+        this.mipsSquared = context.mipsSquared;
+        this.vmReadyTimes = context.vmReadyTimes;
+        this.initialMakespan = context.initialMakespan;
+        this.alpha = context.alpha;
+        this.laneRows = IntVector.zero(I).addIndex(1).mul(numVMs);
+        this.completionTimes = new double[numVMs];
+        this.taskTimes = new double[numTasks];
+    }
+
+    @Override
+    public double evaluate(int[] genes, int offset) {
+        gatherTaskTimes(genes, offset);
+
+        // Per-VM loads: a scatter-add, which has no conflict-free vector form, so it stays scalar
+        // (and in task order, so the makespan matches the scalar kernel exactly)
+        for (int vm = 0; vm < numVMs; vm++) {
+            completionTimes[vm] = vmReadyTimes[vm];
+        }
+        for (int task = 0; task < numTasks; task++) {
+            completionTimes[genes[offset + task]] += taskTimes[task];
+        }
+        double makespan = initialMakespan;
+        for (int vm = 0; vm < numVMs; vm++) {
+            makespan = Math.max(makespan, completionTimes[vm]);
+        }
+
+        // Energy terms in task order, MIPS^2 gathered by VM: (e * K * MIPS^2 + (makespan - e) * K * MIPS^2) * S
+        DoubleVector energy = DoubleVector.zero(D);
+        int vectorEnd = D.loopBound(numTasks);
+        int task = 0;
+        for (; task < vectorEnd; task += LANES) {
+            DoubleVector e = DoubleVector.fromArray(D, taskTimes, task);
+            DoubleVector vmMipsSquared = DoubleVector.fromArray(D, mipsSquared, 0, genes, offset + task);
+            DoubleVector active = e.mul(K).mul(vmMipsSquared);
+            DoubleVector idle = e.neg().add(makespan).mul(K).mul(vmMipsSquared);
+            energy = energy.add(active.add(idle).mul(S));
+        }
+        double totalEnergyConsumption = energy.reduceLanes(VectorOperators.ADD);
+        for (; task < numTasks; task++) {
+            totalEnergyConsumption += Common.calculateTaskEnergyConsumptionSquared(mipsSquared[genes[offset + task]], taskTimes[task], makespan);
+        }
+        return Common.calculateFitness(alpha, totalEnergyConsumption, makespan);
+    }
+
+    // One individual at a time: the gathers already keep several ETC loads in flight
+    @Override
+    public void evaluateBatch(Population population, int from, int to, double[] out) {
+        GeneArray genes = population.genes();
+        for (int i = from; i < to; i++) {
+            out[i] = evaluate(genes, population.offset(i));
+        }
+    }
+
+    @Override
+    public double calculateFlowTime(int[] solution) {
+        gatherTaskTimes(solution, 0);
+        return sum(taskTimes, 0, numTasks);
+    }
+
+    // taskTimes[t] = ETC[t][genes[offset + t]] with vector gathers
+    private void gatherTaskTimes(int[] genes, int offset) {
+        int vectorEnd = D.loopBound(numTasks);
+        int task = 0;
+        for (; task < vectorEnd; task += LANES) {
+            IntVector vms = IntVector.fromArray(I, genes, offset + task);
+            laneRows.add(task * numVMs).add(vms).intoArray(gatherIndices, 0);
+            DoubleVector.fromArray(D, executionTimes, 0, gatherIndices, 0).intoArray(taskTimes, task);
+        }
+        for (; task < numTasks; task++) {
+            taskTimes[task] = executionTimes[task * numVMs + genes[offset + task]];
+        }
+    }
+
+    private static double sum(double[] values, int from, int to) {
+        DoubleVector acc = DoubleVector.zero(D);
+        int vectorEnd = from + D.loopBound(to - from);
+        int i = from;
+        for (; i < vectorEnd; i += LANES) {
+            acc = acc.add(DoubleVector.fromArray(D, values, i));
+        }
+        double total = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < to; i++) {
+            total += values[i];
+        }
+        return total;
+    }
+}
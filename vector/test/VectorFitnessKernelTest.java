@@ -0,0 +1,125 @@
+package org.fog.test.perfeval;
+
+import jdk.incubator.vector.DoubleVector;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VectorFitnessKernelTest {
+    private static final int LANES = DoubleVector.SPECIES_PREFERRED.length();
+    private static final double TOLERANCE = 1e-12; // Relative; lane-wise sums round differently
+    private static final int[] TASK_COUNTS = {1, LANES - 1, LANES, LANES + 1, 3 * LANES + 5, 257};
+    private static final int[] VM_COUNTS = {1, 3, 60};
+
+    @Test
+    void vectorKernelIsLoaded() {
+        FitnessContext context = new FitnessContext(problem(10, 3, false, new SplittableRandom(1)));
+        assertEquals(VectorFitnessKernel.class, FitnessKernel.create(context, true).getClass());
+    }
+
+    @Test
+    void agreesWithEvaluateFitness() {
+        forEachShape((context, random) -> {
+            FitnessKernel kernel = FitnessKernel.create(context, true);
+            for (int s = 0; s < 5; s++) {
+                int[] solution = randomSolution(context, random);
+                assertClose(Common.evaluateFitness(solution, context), kernel.evaluate(solution), context);
+            }
+        });
+    }
+
+    @Test
+    void evaluatesSolutionsAtAnOffset() {
+        forEachShape((context, random) -> {
+            FitnessKernel kernel = FitnessKernel.create(context, true);
+            int[] solution = randomSolution(context, random);
+            int[] genes = new int[solution.length + 3];
+            System.arraycopy(solution, 0, genes, 3, solution.length);
+            assertClose(Common.evaluateFitness(solution, context), kernel.evaluate(genes, 3), context);
+        });
+    }
+
+    @Test
+    void batchAgreesWithEvaluateFitness() {
+        forEachShape((context, random) -> {
+            FitnessKernel kernel = FitnessKernel.create(context, true);
+            int size = FitnessKernel.INTERLEAVE * 2 + 3; // Full batches and a tail
+            Population population = new Population(size, context.getNumTasks(), context.getNumVMs(), GeneEncoding.INT);
+            int[][] solutions = new int[size][];
+            for (int i = 0; i < size; i++) {
+                solutions[i] = randomSolution(context, random);
+                population.copyFrom(solutions[i], i);
+            }
+            double[] fitness = new double[size];
+            kernel.evaluateBatch(population, fitness);
+            for (int i = 0; i < size; i++) {
+                assertClose(Common.evaluateFitness(solutions[i], context), fitness[i], context);
+            }
+        });
+    }
+
+    @Test
+    void flowTimeAgreesWithTheScalarKernel() {
+        forEachShape((context, random) -> {
+            int[] solution = randomSolution(context, random);
+            double expected = new FitnessKernel(context).calculateFlowTime(solution);
+            double actual = FitnessKernel.create(context, true).calculateFlowTime(solution);
+            assertEquals(expected, actual, TOLERANCE * Math.abs(expected), shape(context));
+        });
+    }
+
+    private interface ShapeCheck {
+        void run(FitnessContext context, SplittableRandom random);
+    }
+
+    // Every task and VM count, with all VMs free and with some of them busy
+    private static void forEachShape(ShapeCheck check) {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int numTasks : TASK_COUNTS) {
+            for (int numVMs : VM_COUNTS) {
+                for (boolean busy : new boolean[]{false, true}) {
+                    check.run(new FitnessContext(problem(numTasks, numVMs, busy, random), 0.8), random);
+                }
+            }
+        }
+    }
+
+    private static void assertClose(double expected, double actual, FitnessContext context) {
+        assertEquals(expected, actual, TOLERANCE * Math.abs(expected), shape(context));
+    }
+
+    private static String shape(FitnessContext context) {
+        boolean busy = false;
+        for (int vm = 0; vm < context.getNumVMs(); vm++) {
+            busy |= context.getVmReadyTime(vm) > 0;
+        }
+        return context.getNumTasks() + " tasks x " + context.getNumVMs() + " VMs" + (busy ? ", busy VMs" : "");
+    }
+
+    private static SchedulingProblem problem(int numTasks, int numVMs, boolean busy, SplittableRandom random) {
+        long[] taskLengths = new long[numTasks];
+        for (int task = 0; task < numTasks; task++) {
+            taskLengths[task] = 100 + random.nextInt(1401);
+        }
+        double[] vmMips = new double[numVMs];
+        int[] vmPes = new int[numVMs];
+        double[] vmReadyTimes = new double[numVMs];
+        for (int vm = 0; vm < numVMs; vm++) {
+            vmMips[vm] = 500 + 500 * random.nextInt(8);
+            vmPes[vm] = 1;
+            // Some VMs still busy for up to 2 s, so a ready time can decide the makespan
+            vmReadyTimes[vm] = busy && random.nextBoolean() ? 2 * random.nextDouble() : 0;
+        }
+        return new SchedulingProblem(taskLengths, vmMips, vmPes, vmReadyTimes);
+    }
+
+    private static int[] randomSolution(FitnessContext context, SplittableRandom random) {
+        int[] solution = new int[context.getNumTasks()];
+        for (int task = 0; task < solution.length; task++) {
+            solution[task] = random.nextInt(context.getNumVMs());
+        }
+        return solution;
+    }
+}